@@ -0,0 +1,60 @@
+package proj4;
+
+import java.util.ArrayList;
+
+/**
+ * @author Rachael Birky
+ * @version 04.23.14
+ * 
+ * <p> Boards.java
+ * <p> This class gives the benchmarks a fixed set of boards to work with:
+ * 		every position reachable in a game of TicTacToe, in the order
+ * 		a depth first search finds them.
+ */
+public class Boards {
+
+	private static TicTacToe[] all;
+
+	/**
+	 * <p> Method:  all
+	 * @return every reachable board, the empty board first
+	 */
+	public static synchronized TicTacToe[] all(){
+		if (all == null){
+			ArrayList<TicTacToe> found = new ArrayList<TicTacToe>();
+			boolean[] seen = new boolean[19683];
+			visit(new TicTacToe(), found, seen);
+			all = found.toArray(new TicTacToe[found.size()]);
+		}
+		return all;
+	}
+
+	/**
+	 * <p> Method:  midGame
+	 * <p> Description:  gives a board with a few moves played, so that
+	 * 		players have several successors to consider
+	 * @return a board after three moves
+	 */
+	public static TicTacToe midGame(){
+		TicTacToe t = new TicTacToe();
+		t.move(1, 1);
+		t.move(0, 0);
+		t.move(2, 1);
+		return t;
+	}
+
+	private static void visit(TicTacToe t, ArrayList<TicTacToe> found, boolean[] seen){
+		if (seen[t.hashCode()]) return;
+		seen[t.hashCode()] = true;
+		found.add(t);
+		if (t.isOver()) return;
+
+		for (int i=0; i<t.length; i++){
+			for (int j=0; j<t.length; j++){
+				TicTacToe next = new TicTacToe(t);
+				if (next.move(i, j)) visit(next, found, seen);
+			}
+		}
+	}
+
+}
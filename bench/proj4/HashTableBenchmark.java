@@ -0,0 +1,122 @@
+package proj4;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * @author Rachael Birky
+ * @version 04.23.14
+ * 
+ * <p> HashTableBenchmark.java
+ * <p> Measures HashTable lookups and inserts with TicTacToe keys
+ * 		at different fill levels (entries per slot), and the cost of
+ * 		the put that triggers enlargeTable, under each hashing strategy.
+ * 		A power of two table is larger than the prime one for the same
+ * 		requested size (4096 slots against 2371), so each table is filled
+ * 		relative to its own number of slots, and both strategies are
+ * 		compared at the same load. The chain lengths of each trial are
+ * 		printed at its end.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class HashTableBenchmark {
+
+	private static final int SLOTS = 2371;
+
+	@Param({"0.25", "0.5", "1.0"})
+	public double fill;
+
+	@Param({"PRIME_MODULO", "MIX_POWER_OF_TWO"})
+	public HashTable.Hashing hashing;
+
+	private TicTacToe[] boards;
+	private HashTable<TicTacToe, Stats> table;
+	private TicTacToe missing;
+	private int count;
+	private int next;
+
+	@Setup(Level.Trial)
+	public void setUp(){
+		boards = Boards.all();
+		table = new HashTable<TicTacToe, Stats>(SLOTS-1, false, hashing);
+		count = Math.max(1, (int) (fill*table.numSlots()));
+		for (int i=0; i<count; i++)
+			table.put(boards[i], new Stats(boards[i]));
+		missing = boards[boards.length-1];
+	}
+
+	@TearDown(Level.Trial)
+	public void printChains(){
+		System.out.println(hashing+", "+table.numEntries()+" entries in "+table.numSlots()
+				+" slots, slots by chain length: "+Arrays.toString(table.chainLengthHistogram(6)));
+	}
+
+	@Benchmark
+	public Stats get(){
+		return table.get(present());
+	}
+
+	@Benchmark
+	public Stats getMissing(){
+		return table.get(missing);
+	}
+
+	@Benchmark
+	public boolean containsKey(){
+		return table.containsKey(present());
+	}
+
+	@Benchmark
+	public HashTable<TicTacToe, Stats> putExisting(){
+		TicTacToe t = present();
+		table.put(t, new Stats(t));
+		return table;
+	}
+
+	private TicTacToe present(){
+		next = (next+1) % count;
+		return boards[next];
+	}
+
+
+	/**
+	 * <p> A table filled to exactly its own number of slots, a load of 1
+	 * 		under either strategy, so the next put of a new key enlarges it.
+	 * 		Rebuilt before every call.
+	 */
+	@State(Scope.Thread)
+	public static class FullTable {
+		HashTable<TicTacToe, Stats> table;
+		TicTacToe extra;
+
+		@Setup(Level.Invocation)
+		public void fill(HashTableBenchmark benchmark){
+			TicTacToe[] boards = Boards.all();
+			table = new HashTable<TicTacToe, Stats>(SLOTS-1, false, benchmark.hashing);
+			int count = table.numSlots();
+			for (int i=0; i<count; i++)
+				table.put(boards[i], new Stats(boards[i]));
+			extra = boards[count];
+		}
+	}
+
+	@Benchmark
+	@OutputTimeUnit(TimeUnit.MICROSECONDS)
+	public HashTable<TicTacToe, Stats> enlargeTable(FullTable full){
+		full.table.put(full.extra, new Stats(full.extra));
+		return full.table;
+	}
+
+}
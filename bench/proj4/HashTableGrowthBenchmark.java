@@ -0,0 +1,48 @@
+package proj4;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * @author Rachael Birky
+ * @version 04.23.14
+ * 
+ * <p> HashTableGrowthBenchmark.java
+ * <p> Samples the latency of every put into a growing HashTable, with and
+ * 		without incremental resizing. JMH's sample mode reports the
+ * 		percentiles, so the puts that trigger enlargeTable show up in the tail.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class HashTableGrowthBenchmark {
+
+	@Param({"false", "true"})
+	public boolean incremental;
+
+	private HashTable<Integer, Integer> table;
+	private int next;
+
+	@Setup(Level.Iteration)
+	public void setUp(){
+		table = new HashTable<Integer, Integer>(27, incremental);
+		next = 0;
+	}
+
+	@Benchmark
+	public HashTable<Integer, Integer> put(){
+		Integer key = next++;
+		table.put(key, key);
+		return table;
+	}
+
+}
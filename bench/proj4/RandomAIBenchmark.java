@@ -0,0 +1,56 @@
+package proj4;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * @author Rachael Birky
+ * @version 04.23.14
+ * 
+ * <p> RandomAIBenchmark.java
+ * <p> Measures whole games between two random players, the inner
+ * 		loop of training. Divide by the moves per game (about 7.6 on
+ * 		the 3x3 board) for moves per second.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class RandomAIBenchmark {
+
+	private RandomAI player1;
+	private RandomAI player2;
+
+	@Setup
+	public void setUp(){
+		player1 = new RandomAI(1);
+		player2 = new RandomAI(2);
+	}
+
+	@Benchmark
+	public int randomGame(){
+		TicTacToe t = new TicTacToe();
+		while (!t.isOver()){
+			player1.move(t);
+			player2.move(t);
+		}
+		return t.getWinner();
+	}
+
+	@Benchmark
+	public int randomGame7x7(){
+		TicTacToe t = new TicTacToe(7, 7, 5);
+		while (!t.isOver()){
+			player1.move(t);
+			player2.move(t);
+		}
+		return t.getWinner();
+	}
+
+}
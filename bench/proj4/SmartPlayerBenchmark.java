@@ -0,0 +1,93 @@
+package proj4;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * @author Rachael Birky
+ * @version 04.23.14
+ * 
+ * <p> SmartPlayerBenchmark.java
+ * <p> Measures the learning loop: a SmartPlayer's move and endGame
+ * 		once it has already trained, and whole games through Project4,
+ * 		with its boards in a HashStatsTable or in a StateSpaceTable.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class SmartPlayerBenchmark {
+
+	private static final int TRAINING_GAMES = 1000;
+	private static final int GAMES = 1000;
+
+	@Param({"hash", "states"})
+	public String table;
+
+	private SmartPlayer smartPlayer;
+	private RandomAI randomPlayer;
+	private TicTacToe board;
+
+	@Setup(Level.Trial)
+	public void train(){
+		randomPlayer = new RandomAI(42);
+		smartPlayer = table.equals("states") ? new SmartPlayer(1, new StateSpaceTable()) : new SmartPlayer(1);
+		smartPlayer.setSeed(42);
+		new Project4().playGames(randomPlayer, smartPlayer, 1, TRAINING_GAMES);
+		board = Boards.midGame();
+	}
+
+	/**
+	 * <p> A game played to its end without letting the smart player
+	 * 		learn from it yet, so endGame has boards to update
+	 */
+	@State(Scope.Thread)
+	public static class FinishedGame {
+		TicTacToe board;
+
+		@Setup(Level.Invocation)
+		public void play(SmartPlayerBenchmark b){
+			b.smartPlayer.newGame(1);
+			board = new TicTacToe();
+			while (!board.isOver()){
+				b.smartPlayer.move(board);
+				b.randomPlayer.move(board);
+			}
+		}
+	}
+
+	@Benchmark
+	public TicTacToe move(){
+		//forget the boards of earlier calls, as a new game would
+		smartPlayer.newGame(1);
+		TicTacToe t = new TicTacToe(board);
+		smartPlayer.move(t);
+		return t;
+	}
+
+	@Benchmark
+	public SmartPlayer endGame(FinishedGame game){
+		smartPlayer.endGame(game.board);
+		return smartPlayer;
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(GAMES)
+	@BenchmarkMode(Mode.Throughput)
+	@OutputTimeUnit(TimeUnit.SECONDS)
+	public Project4 play(){
+		Project4 driver = new Project4();
+		driver.playGames(randomPlayer, smartPlayer, 1, GAMES);
+		return driver;
+	}
+
+}
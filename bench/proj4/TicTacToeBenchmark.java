@@ -0,0 +1,62 @@
+package proj4;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * @author Rachael Birky
+ * @version 04.23.14
+ * 
+ * <p> TicTacToeBenchmark.java
+ * <p> Measures the TicTacToe calls made on every hash table probe
+ * 		and every move.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class TicTacToeBenchmark {
+
+	private TicTacToe[] boards;
+	private TicTacToe board;
+	private TicTacToe same;
+	private int next;
+
+	@Setup
+	public void setUp(){
+		boards = Boards.all();
+		board = Boards.midGame();
+		same = new TicTacToe(board);
+	}
+
+	@Benchmark
+	public TicTacToe copyAndMove(){
+		TicTacToe t = new TicTacToe(board);
+		t.move(2, 2);
+		return t;
+	}
+
+	@Benchmark
+	public int hashCodeOf(){
+		next = (next+1) % boards.length;
+		return boards[next].hashCode();
+	}
+
+	@Benchmark
+	public boolean equalsSame(){
+		return board.equals(same);
+	}
+
+	@Benchmark
+	public boolean equalsOther(){
+		next = (next+1) % boards.length;
+		return board.equals(boards[next]);
+	}
+
+}
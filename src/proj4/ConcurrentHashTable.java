@@ -0,0 +1,253 @@
+package proj4;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiConsumer;
+
+/**
+ * @author Rachael Birky
+ * @version 04.23.14
+ * 
+ * <p> ConcurrentHashTable.java
+ * <p> This class represents a generic separate chaining hash table
+ * 		that many threads can read and update at once.
+ * <p> Chains are made of nodes that never change once linked in, so
+ * 		get and containsKey take no locks. Writers lock one of a fixed
+ * 		number of stripes, picked by the slot they add to, so that two
+ * 		writers never link into the same chain at once. To enlarge the
+ * 		table, all stripes are locked and a new table is built beside the
+ * 		old one; readers keep using the old, complete table until the new
+ * 		one is published, so a resize never blocks them.
+ *
+ * @param <K, V> this class is generic
+ */
+public class ConcurrentHashTable<K, V>{
+
+	private final static int INITIAL_SIZE = 27;
+	private final static int NUM_STRIPES = 64;
+
+	private volatile AtomicReferenceArray<Node<K,V>> table;
+	private final ReentrantLock[] locks = new ReentrantLock[NUM_STRIPES];
+	private final AtomicInteger numEntries = new AtomicInteger();
+	private final AtomicInteger numCollisions = new AtomicInteger();
+
+
+	/**
+	 * <p> Constructor
+	 * <p> Description:  Calls the other constructor,
+	 * 		passing the default hash table size
+	 */
+	public ConcurrentHashTable(){
+		this(INITIAL_SIZE);
+	}
+
+	/**
+	 * <p> Constructor
+	 * <p> Description:  Creates a new table with the given number of slots
+	 * @param aSize - the given table size
+	 */
+	public ConcurrentHashTable(int aSize){
+		table = new AtomicReferenceArray<Node<K,V>>(Math.max(aSize, 1));
+		for (int i=0; i<NUM_STRIPES; i++)
+			locks[i] = new ReentrantLock();
+	}
+
+	/**
+	 * <p> Method:  get
+	 * <p> Description:  returns the value associated with the given key,
+	 * 			without locking
+	 * @param key
+	 * @return null if the key maps to nothing, else the associated value
+	 */
+	public V get(K key){
+		AtomicReferenceArray<Node<K,V>> tab = table;
+		for (Node<K,V> n = tab.get(indexFor(key, tab.length())); n != null; n = n.next){
+			if (n.key.equals(key)) return n.value;
+		}
+		return null;
+	}
+
+	/**
+	 * <p> Method:  containsKey
+	 * <p> Description:  determines whether the given key is
+	 * 			already in the hash table
+	 * @param key - the key for which to search
+	 * @return true if the key is already in the table, false otherwise
+	 */
+	public boolean containsKey(K key){
+		return get(key) != null;
+	}
+
+	/**
+	 * <p> Method:  put
+	 * <p> Description:  puts the given key-value pair into the hash table,
+	 * 			unless the key is already there
+	 * @param key - the key to add to the table
+	 * @param  value - a corresponding value to add to the table
+	 */
+	public void put(K key, V value){
+		putIfAbsent(key, value);
+	}
+
+	/**
+	 * <p> Method:  putIfAbsent
+	 * <p> Description:  atomically adds the given pair if the key is not
+	 * 			in the table yet. When several threads race to add the same
+	 * 			key, exactly one value wins and all of them get it back.
+	 * @param key - the key to add to the table
+	 * @param  value - a corresponding value to add to the table
+	 * @return the value now associated with the key
+	 */
+	public V putIfAbsent(K key, V value){
+		V existing = get(key);
+		if (existing != null) return existing;
+
+		while (true){
+			AtomicReferenceArray<Node<K,V>> tab = table;
+			int index = indexFor(key, tab.length());
+			ReentrantLock lock = locks[index % NUM_STRIPES];
+			lock.lock();
+			try{
+				//the table may have been replaced while waiting for the lock,
+				//moving the key to another slot; it cannot change while we hold it
+				if (tab != table) continue;
+				Node<K,V> head = tab.get(index);
+				for (Node<K,V> n = head; n != null; n = n.next){
+					if (n.key.equals(key)) return n.value;
+				}
+				tab.set(index, new Node<K,V>(key, value, head));
+				if (head != null) numCollisions.incrementAndGet();
+				break;
+			}
+			finally{
+				lock.unlock();
+			}
+		}
+
+		if (numEntries.incrementAndGet() > table.length())
+			enlargeTable();
+		return value;
+	}
+
+	/**
+	 * <p> Method:  numSlots
+	 * @return the number of slots in the current hash table
+	 */
+	public int numSlots(){
+		return table.length();
+	}
+
+	/**
+	 * <p> Method:  numEntries
+	 * @return the number of entries in the current hash table
+	 */
+	public int numEntries(){
+		return numEntries.get();
+	}
+
+	/**
+	 * <p> Method:  numCollisions
+	 * @return the number of collisions in the current hash table
+	 */
+	public int numCollisions(){
+		return numCollisions.get();
+	}
+
+	/**
+	 * <p> Method: forEach  
+	 * <p> Description:  passes every key-value pair in the table to the
+	 * 			given action. Pairs added while this runs may be missed.
+	 * @param action - the action to perform on each pair
+	 */
+	public void forEach(BiConsumer<? super K, ? super V> action){
+		AtomicReferenceArray<Node<K,V>> tab = table;
+		for (int i=0; i<tab.length(); i++)
+			for (Node<K,V> n = tab.get(i); n != null; n = n.next)
+				action.accept(n.key, n.value);
+	}
+
+	/**
+	 * <p> Method: printHashTable  
+	 * <p> Description:  prints the hash table to the console as a key-value array
+	 */
+	public void printHashTable(){
+		AtomicReferenceArray<Node<K,V>> tab = table;
+		for (int i=0; i<tab.length(); i++){
+			String chain = "[";
+			for (Node<K,V> n = tab.get(i); n != null; n = n.next)
+				chain += n.key+":"+n.value+((n.next != null) ? ", " : "");
+			System.out.println(chain+"]");
+		}
+	}
+
+	/**
+	 * <p> Method:  spread
+	 * @param h - a hash code
+	 * @return the hash code with its sign bit cleared
+	 */
+	private static int spread(int h){
+		return h & 0x7fffffff;
+	}
+
+	/**
+	 * <p> Method:  indexFor
+	 * @param key - the key for which we are finding the slot index
+	 * @param length - the number of slots
+	 * @return the slot index of the key
+	 */
+	private int indexFor(K key, int length){
+		return spread(key.hashCode()) % length;
+	}
+
+	/**
+	* <p> Method:  enlargeTable
+	* <p> Description:  makes the table about 2x larger. Writers wait on the
+	* 		stripe locks while the new table is filled; readers carry on
+	* 		with the old table, which is left untouched.
+	*/
+	private void enlargeTable(){
+		for (int i=0; i<NUM_STRIPES; i++) locks[i].lock();
+		try{
+			AtomicReferenceArray<Node<K,V>> oldTable = table;
+			//another thread may already have enlarged the table
+			if (numEntries.get() <= oldTable.length()) return;
+
+			AtomicReferenceArray<Node<K,V>> newTable =
+					new AtomicReferenceArray<Node<K,V>>(2*oldTable.length()+1);
+			int collisions = 0;
+			for (int j=0; j<oldTable.length(); j++){
+				for (Node<K,V> n = oldTable.get(j); n != null; n = n.next){
+					int index = indexFor(n.key, newTable.length());
+					Node<K,V> head = newTable.get(index);
+					if (head != null) collisions++;
+					newTable.set(index, new Node<K,V>(n.key, n.value, head));
+				}
+			}
+			numCollisions.set(collisions);
+			table = newTable;
+		}
+		finally{
+			for (int i=NUM_STRIPES-1; i>=0; i--) locks[i].unlock();
+		}
+	}
+
+
+
+	/**
+	 * <p> This is an internal class used in the hash table.
+	 * 		It represents one link of a chain, and never changes once created.
+	 */
+	private static class Node<K, V>{
+		private final K key;
+		private final V value;
+		private final Node<K,V> next;
+
+		private Node(K aKey, V aValue, Node<K,V> aNext){
+			key = aKey;
+			value = aValue;
+			next = aNext;
+		}
+	}
+
+}
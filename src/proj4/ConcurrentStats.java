@@ -0,0 +1,68 @@
+package proj4;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * @author Rachael Birky
+ * @version 04.23.14
+ * 
+ * <p> ConcurrentStats.java
+ * <p> This class represents statistics about a TicTacToe board
+ * 		that many threads may update at once. Each counter is a LongAdder,
+ * 		so concurrent increments are never lost and rarely contend.
+ */
+public class ConcurrentStats extends Stats {
+
+	private final LongAdder numSeen = new LongAdder();
+	private final LongAdder numWins = new LongAdder();
+	private final LongAdder numDraws = new LongAdder();
+	private final LongAdder numLosses = new LongAdder();
+
+	/**
+	* <p> Constructor
+	* <p> Description:  creates a new statistics object
+	*/
+	public ConcurrentStats(TicTacToe t){
+		super(t);
+	}
+
+	public int getNumSeen(){
+		return numSeen.intValue();
+	}
+
+	public int getNumWins(){
+		return numWins.intValue();
+	}
+
+	public int getNumDraws(){
+		return numDraws.intValue();
+	}
+
+	public int getNumLosses(){
+		return numLosses.intValue();
+	}
+
+	public void incrementNumSeen(){
+		numSeen.increment();
+	}
+
+	public void incrementNumWins(){
+		numWins.increment();
+	}
+
+	public void incrementNumDraws(){
+		numDraws.increment();
+	}
+
+	public void incrementNumLosses(){
+		numLosses.increment();
+	}
+
+	public void add(int seen, int wins, int draws, int losses){
+		numSeen.add(seen);
+		numWins.add(wins);
+		numDraws.add(draws);
+		numLosses.add(losses);
+	}
+
+}
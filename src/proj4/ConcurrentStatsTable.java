@@ -0,0 +1,113 @@
+package proj4;
+
+/**
+ * @author Rachael Birky
+ * @version 04.23.14
+ * 
+ * <p> ConcurrentStatsTable.java
+ * <p> This class is a StatsTable that many SmartPlayers on different
+ * 		threads can share. It keeps one ConcurrentStats object per board
+ * 		in a ConcurrentHashTable, so boards can be added and counted
+ * 		from any thread without losing updates.
+ */
+public class ConcurrentStatsTable implements StatsTable {
+
+	private ConcurrentHashTable<TicTacToe, Stats> boards;
+
+	/**
+	 * <p> Constructor
+	 * <p> Description:  creates a new table with about the given number of slots
+	 * @param aSize - the initial hash table size
+	 */
+	public ConcurrentStatsTable(int aSize){
+		boards = new ConcurrentHashTable<TicTacToe, Stats>(aSize);
+	}
+
+	public boolean containsKey(TicTacToe t){
+		return boards.containsKey(t);
+	}
+
+	public void add(TicTacToe t){
+		getStats(t);
+	}
+
+	public int getPercentWin(TicTacToe t){
+		Stats s = boards.get(t);
+		return (s == null) ? 100 : s.getPercentWin();
+	}
+
+	public int getNumSeen(TicTacToe t){
+		Stats s = boards.get(t);
+		return (s == null) ? 0 : s.getNumSeen();
+	}
+
+	public int getNumWins(TicTacToe t){
+		Stats s = boards.get(t);
+		return (s == null) ? 0 : s.getNumWins();
+	}
+
+	public int getNumDraws(TicTacToe t){
+		Stats s = boards.get(t);
+		return (s == null) ? 0 : s.getNumDraws();
+	}
+
+	public int getNumLosses(TicTacToe t){
+		Stats s = boards.get(t);
+		return (s == null) ? 0 : s.getNumLosses();
+	}
+
+	public void incrementNumSeen(TicTacToe t){
+		getStats(t).incrementNumSeen();
+	}
+
+	public void incrementNumWins(TicTacToe t){
+		getStats(t).incrementNumWins();
+	}
+
+	public void incrementNumDraws(TicTacToe t){
+		getStats(t).incrementNumDraws();
+	}
+
+	public void incrementNumLosses(TicTacToe t){
+		getStats(t).incrementNumLosses();
+	}
+
+	public void addStats(TicTacToe t, int seen, int wins, int draws, int losses){
+		getStats(t).add(seen, wins, draws, losses);
+	}
+
+	public void forEach(Visitor visitor){
+		boards.forEach((t, s) -> visitor.visit(t, s.getNumSeen(), s.getNumWins(), s.getNumDraws(), s.getNumLosses()));
+	}
+
+	public int numSlots(){
+		return boards.numSlots();
+	}
+
+	public int numEntries(){
+		return boards.numEntries();
+	}
+
+	public int numCollisions(){
+		return boards.numCollisions();
+	}
+
+	public void printHashTable(){
+		boards.printHashTable();
+	}
+
+	/**
+	 * <p> Method:  getStats
+	 * <p> Description:  returns the statistics of the given board,
+	 * 			adding a copy of the board first if it is not in the table
+	 * @param t - the board to access
+	 * @return the board's statistics
+	 */
+	private Stats getStats(TicTacToe t){
+		Stats s = boards.get(t);
+		if (s == null)
+			s = boards.putIfAbsent(new TicTacToe(t), new ConcurrentStats(t));
+		return s;
+	}
+
+}
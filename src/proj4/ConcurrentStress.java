@@ -0,0 +1,167 @@
+package proj4;
+
+import java.util.ArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * @author Rachael Birky
+ * @version 04.23.14
+ *
+ * <p> ConcurrentStress.java
+ * <p> This class is a headless stress test of ConcurrentStatsTable (and
+ * 		the ConcurrentHashTable under it). For 1, 2, 4, ... up to N threads,
+ * 		every thread hammers one shared table, starting from a single slot
+ * 		so that it is enlarged many times while threads are using it. Each
+ * 		thread makes a number of passes over every 3x3 base 3 key, counting
+ * 		each board as seen, then won or lost, and reading its win rate.
+ * <p> Afterwards every board's counters must add up to exactly the number
+ * 		of updates made to it; if any update was lost the test fails.
+ * 		Otherwise one line of throughput is printed per thread count.
+ */
+public class ConcurrentStress {
+
+	private static final String USAGE =
+			"usage: ConcurrentStress [max threads (default 2 x cores, at least 8)] [passes per thread (default 100)]";
+
+	//every 3x3 base 3 key, legal position or not
+	private static final int NUM_KEYS = 19683;
+
+	private final TicTacToe[] boards = new TicTacToe[NUM_KEYS];
+	private final int numPasses;
+
+	/**
+	* <p> Constructor
+	* <p> Description: creates a stress test making the given number of
+	* 		passes over every board on each thread
+	* @param aNumPasses - the passes each thread makes
+	*/
+	public ConcurrentStress(int aNumPasses){
+		numPasses = aNumPasses;
+		for (int k=0; k<NUM_KEYS; k++) boards[k] = TicTacToe.fromKey(k);
+	}
+
+	/**
+	* <p> Method:  run
+	* <p> Description: hammers a new shared table from the given number of
+	* 		threads, then checks that no update was lost
+	* @param numThreads - the number of threads
+	* @return the number of table operations per second
+	* @throws IllegalStateException if the table lost an update
+	*/
+	public long run(int numThreads) throws InterruptedException, ExecutionException{
+		final ConcurrentStatsTable table = new ConcurrentStatsTable(1);
+		final CountDownLatch go = new CountDownLatch(1);
+		ExecutorService pool = Executors.newFixedThreadPool(numThreads);
+		ArrayList<Future<Long>> workers = new ArrayList<Future<Long>>();
+
+		for (int w=0; w<numThreads; w++){
+			//each thread starts at a different board, so they race on
+			//inserts into different chains as well as on the same boards
+			final int first = w*NUM_KEYS/numThreads;
+			workers.add(pool.submit(() -> {
+				go.await();
+				long checksum = 0;
+				for (int p=0; p<numPasses; p++){
+					for (int j=0; j<NUM_KEYS; j++){
+						int k = (first+j) % NUM_KEYS;
+						table.incrementNumSeen(boards[k]);
+						if ((k+p)%2 == 0) table.incrementNumWins(boards[k]);
+						else table.incrementNumLosses(boards[k]);
+						checksum += table.getPercentWin(boards[k]);
+					}
+				}
+				return checksum;
+			}));
+		}
+
+		long start = System.nanoTime();
+		go.countDown();
+		try{
+			for (Future<Long> f : workers) f.get();
+		}
+		finally{
+			pool.shutdown();
+		}
+		long nanos = Math.max(1, System.nanoTime()-start);
+
+		check(table, numThreads);
+		long numOps = 3L*numThreads*numPasses*NUM_KEYS;
+		return numOps*1000000000L/nanos;
+	}
+
+	/**
+	* <p> Method:  check
+	* <p> Description: verifies that every board's counters hold every
+	* 		update the threads made to it
+	* @param table - the table after the threads are done
+	* 		numThreads - the number of threads that used it
+	* @throws IllegalStateException if an update was lost
+	*/
+	private void check(ConcurrentStatsTable table, int numThreads){
+		if (table.numEntries() != NUM_KEYS)
+			throw new IllegalStateException(numThreads+" threads: "+table.numEntries()+" boards, expected "+NUM_KEYS);
+
+		long[] totals = new long[3];
+		table.forEach((t, seen, wins, draws, losses) -> {
+			int k = t.hashCode();
+			//wins on the passes p with k+p even
+			int winPasses = (numPasses + ((k%2 == 0) ? 1 : 0))/2;
+			if (seen != numThreads*numPasses || wins != numThreads*winPasses
+					|| losses != numThreads*(numPasses-winPasses) || draws != 0)
+				throw new IllegalStateException(numThreads+" threads: board "+k+" has "+seen+" seen, "
+						+wins+" wins, "+losses+" losses, expected "+numThreads*numPasses+", "
+						+numThreads*winPasses+", "+numThreads*(numPasses-winPasses));
+			totals[0] += seen;
+			totals[1] += wins;
+			totals[2] += losses;
+		});
+
+		long expected = (long) numThreads*numPasses*NUM_KEYS;
+		if (totals[0] != expected || totals[1]+totals[2] != expected)
+			throw new IllegalStateException(numThreads+" threads: "+totals[0]+" seen, expected "+expected);
+	}
+
+	/**
+	* <p> Method:  main
+	* <p> Description: runs the stress test for 1, 2, 4, ... up to the
+	* 		maximum number of threads and prints the throughput curve
+	* @param args - [max threads] [passes per thread]
+	*/
+	public static void main(String[] args) throws InterruptedException, ExecutionException{
+		int maxThreads = Math.max(8, 2*Runtime.getRuntime().availableProcessors());
+		int numPasses = 100;
+		try{
+			if (args.length > 0) maxThreads = Integer.parseInt(args[0]);
+			if (args.length > 1) numPasses = Integer.parseInt(args[1]);
+		}
+		catch (NumberFormatException e){
+			System.err.println(USAGE);
+			System.exit(1);
+		}
+		if (maxThreads < 1 || numPasses < 1){
+			System.err.println(USAGE);
+			System.exit(1);
+		}
+
+		ConcurrentStress test = new ConcurrentStress(numPasses);
+		System.out.println(Runtime.getRuntime().availableProcessors()+" cores, "+numPasses+" passes over "+NUM_KEYS+" boards per thread");
+
+		//warm up the JIT first, so the first rows are not mostly interpreted code
+		for (int i=0; i<5; i++) test.run(Math.min(maxThreads, 4));
+
+		long single = 0;
+		System.out.println("threads\tops/sec\tspeedup");
+		for (int n=1; ; n = Math.min(2*n, maxThreads)){
+			long opsPerSec = test.run(n);
+			if (n == 1) single = opsPerSec;
+			System.out.println(n+"\t"+opsPerSec+"\t"+String.format("%.2f", (double) opsPerSec/single));
+			if (n == maxThreads) break;
+		}
+		System.out.println("No updates lost");
+	}
+
+}
@@ -0,0 +1,123 @@
+package proj4;
+
+/**
+ * @author Rachael Birky
+ * @version 04.23.14
+ * 
+ * <p> DenseBoardStore.java
+ * <p> This class is a StatsTable with one slot for every possible
+ * 		3x3 board. A board's base 3 key is always in [0, 3^9), so it is
+ * 		used directly as the slot index: there is no hashing, no collisions
+ * 		and no resizing. The four counters of a board sit next to each
+ * 		other in one int array, so a lookup touches a single cache line.
+ * <p> Only works with 3x3 boards.
+ */
+public class DenseBoardStore implements StatsTable {
+
+	public static final int NUM_BOARDS = 19683;	//3^9
+
+	//offsets of each counter within a board's four ints
+	private static final int SEEN = 0, WINS = 1, DRAWS = 2, LOSSES = 3;
+
+	private final int[] counts = new int[4*NUM_BOARDS];
+	private final boolean[] present = new boolean[NUM_BOARDS];
+	private int numEntries=0;
+
+	/**
+	 * <p> Constructor
+	 * <p> Description:  creates an empty store for all 3^9 boards
+	 */
+	public DenseBoardStore(){
+	}
+
+	public boolean containsKey(TicTacToe t){
+		return present[t.hashCode()];
+	}
+
+	public void add(TicTacToe t){
+		int key = t.hashCode();
+		if (!present[key]){
+			present[key] = true;
+			numEntries++;
+		}
+	}
+
+	public int getPercentWin(TicTacToe t){
+		int at = 4*t.hashCode();
+		if (counts[at+SEEN]==0) return 100;
+		else return (int) (((double)counts[at+WINS]/(counts[at+SEEN]))*100);
+	}
+
+	public int getNumSeen(TicTacToe t){
+		return counts[4*t.hashCode()+SEEN];
+	}
+
+	public int getNumWins(TicTacToe t){
+		return counts[4*t.hashCode()+WINS];
+	}
+
+	public int getNumDraws(TicTacToe t){
+		return counts[4*t.hashCode()+DRAWS];
+	}
+
+	public int getNumLosses(TicTacToe t){
+		return counts[4*t.hashCode()+LOSSES];
+	}
+
+	public void incrementNumSeen(TicTacToe t){
+		add(t);
+		counts[4*t.hashCode()+SEEN]++;
+	}
+
+	public void incrementNumWins(TicTacToe t){
+		add(t);
+		counts[4*t.hashCode()+WINS]++;
+	}
+
+	public void incrementNumDraws(TicTacToe t){
+		add(t);
+		counts[4*t.hashCode()+DRAWS]++;
+	}
+
+	public void incrementNumLosses(TicTacToe t){
+		add(t);
+		counts[4*t.hashCode()+LOSSES]++;
+	}
+
+	public void addStats(TicTacToe t, int seen, int wins, int draws, int losses){
+		add(t);
+		int at = 4*t.hashCode();
+		counts[at+SEEN] += seen;
+		counts[at+WINS] += wins;
+		counts[at+DRAWS] += draws;
+		counts[at+LOSSES] += losses;
+	}
+
+	public void forEach(Visitor visitor){
+		for (int key=0; key<NUM_BOARDS; key++){
+			if (present[key])
+				visitor.visit(TicTacToe.fromKey(key), counts[4*key+SEEN], counts[4*key+WINS],
+						counts[4*key+DRAWS], counts[4*key+LOSSES]);
+		}
+	}
+
+	public int numSlots(){
+		return NUM_BOARDS;
+	}
+
+	public int numEntries(){
+		return numEntries;
+	}
+
+	public int numCollisions(){
+		return 0;
+	}
+
+	public void printHashTable(){
+		for (int key=0; key<NUM_BOARDS; key++){
+			if (present[key])
+				System.out.println(key+":"+counts[4*key+WINS]+"/"+counts[4*key+DRAWS]+"/"+counts[4*key+LOSSES]+" of "+counts[4*key+SEEN]);
+		}
+	}
+
+}
@@ -0,0 +1,149 @@
+package proj4;
+
+/**
+ * @author Rachael Birky
+ * @version 04.23.14
+ * 
+ * <p> HashStatsTable.java
+ * <p> This class is the default StatsTable used by a SmartPlayer.
+ * 		It keeps one Stats object per board in a separate chaining HashTable.
+ */
+public class HashStatsTable implements StatsTable {
+
+	private HashTable<TicTacToe, Stats> boards;
+
+	/**
+	 * <p> Constructor
+	 * <p> Description:  creates a new table with about the given number of slots
+	 * @param aSize - the initial hash table size
+	 */
+	public HashStatsTable(int aSize){
+		boards = new HashTable<TicTacToe, Stats>(aSize);
+	}
+
+	/**
+	 * <p> Constructor
+	 * <p> Description:  creates a new table that keeps at most the given
+	 * 		number of boards, evicting the least seen ones first
+	 * @param aSize - the initial hash table size
+	 * @param aMaxEntries - the most boards to keep
+	 */
+	public HashStatsTable(int aSize, int aMaxEntries){
+		boards = new HashTable<TicTacToe, Stats>(aSize, aMaxEntries, Stats::getNumSeen);
+	}
+
+	/**
+	 * <p> Constructor
+	 * <p> Description:  creates a table view of an existing hash table,
+	 * 		so that changes to either one show in the other
+	 * @param aTable - the hash table of board statistics to use
+	 */
+	public HashStatsTable(HashTable<TicTacToe, Stats> aTable){
+		boards = aTable;
+	}
+
+	/**
+	 * <p> Method:  getTable
+	 * <p> Description:  gives the hash table behind this table, e.g. to
+	 * 		stream over every board and its statistics
+	 * @return the hash table of board statistics
+	 */
+	public HashTable<TicTacToe, Stats> getTable(){
+		return boards;
+	}
+
+	public boolean containsKey(TicTacToe t){
+		return boards.containsKey(t);
+	}
+
+	public void add(TicTacToe t){
+		getStats(t);
+	}
+
+	public int getPercentWin(TicTacToe t){
+		Stats s = boards.get(t);
+		return (s == null) ? 100 : s.getPercentWin();
+	}
+
+	public int addAndGetPercentWin(TicTacToe t){
+		return getStats(t).getPercentWin();
+	}
+
+	public int getNumSeen(TicTacToe t){
+		Stats s = boards.get(t);
+		return (s == null) ? 0 : s.getNumSeen();
+	}
+
+	public int getNumWins(TicTacToe t){
+		Stats s = boards.get(t);
+		return (s == null) ? 0 : s.getNumWins();
+	}
+
+	public int getNumDraws(TicTacToe t){
+		Stats s = boards.get(t);
+		return (s == null) ? 0 : s.getNumDraws();
+	}
+
+	public int getNumLosses(TicTacToe t){
+		Stats s = boards.get(t);
+		return (s == null) ? 0 : s.getNumLosses();
+	}
+
+	public void incrementNumSeen(TicTacToe t){
+		getStats(t).incrementNumSeen();
+	}
+
+	public void incrementNumWins(TicTacToe t){
+		getStats(t).incrementNumWins();
+	}
+
+	public void incrementNumDraws(TicTacToe t){
+		getStats(t).incrementNumDraws();
+	}
+
+	public void incrementNumLosses(TicTacToe t){
+		getStats(t).incrementNumLosses();
+	}
+
+	public void addStats(TicTacToe t, int seen, int wins, int draws, int losses){
+		getStats(t).add(seen, wins, draws, losses);
+	}
+
+	public void forEach(Visitor visitor){
+		boards.forEach((t, s) -> visitor.visit(t, s.getNumSeen(), s.getNumWins(), s.getNumDraws(), s.getNumLosses()));
+	}
+
+	public int numSlots(){
+		return boards.numSlots();
+	}
+
+	public int numEntries(){
+		return boards.numEntries();
+	}
+
+	public int numCollisions(){
+		return boards.numCollisions();
+	}
+
+	public void printHashTable(){
+		boards.printHashTable();
+	}
+
+	public void printMetrics(){
+		new HashTableMetrics(boards).print();
+	}
+
+	/**
+	 * <p> Method:  getStats
+	 * <p> Description:  returns the statistics of the given board,
+	 * 			adding a copy of the board first if it is not in the table,
+	 * 			so callers may reuse the board they pass. Either way the
+	 * 			board's chain is searched once.
+	 * @param t - the board to access
+	 * @return the board's statistics
+	 */
+	private Stats getStats(TicTacToe t){
+		return boards.computeIfAbsent(t, TicTacToe::new, Stats::new);
+	}
+
+}
@@ -3,8 +3,19 @@ package proj4;
 
 import java.math.BigInteger;
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.Random;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * @author Rachael Birky
@@ -14,17 +25,59 @@ import java.util.Random;
  * <p> This class represents a generic hash table, which stores
  * 		key-value pairs in an index specified by the key's hash code value.
  * <p> This class also contains a sub-class "HashTableObject"
- * 		that stores the key and value pairs.
+ * 		that stores the key and value pairs, which can be iterated
+ * 		over or streamed (in parallel, too) straight from the slots.
  *
  * @param <K, V> this class is generic
  */
-public class HashTable<K, V>{
+public class HashTable<K, V> implements Iterable<HashTable<K, V>.HashTableObject<K, V>>{
 
 	private LinkedList<HashTableObject<K,V>>[] table;
 	private final static int INITIAL_SIZE = 27;
 	private int numEntries=0;
 	private int numCollisions=0;
+	private long numProbes=0;
 
+	//incremental resizing: while oldTable is not null, its buckets
+	//before migrateIndex have been moved into table, the rest have not
+	private final static int MIGRATE_STEP = 4;
+	private boolean incrementalResize = false;
+	private LinkedList<HashTableObject<K,V>>[] oldTable = null;
+	private int migrateIndex = 0;
+
+	//bounded mode: once maxEntries is reached, each insert evicts one
+	//entry chosen by a CLOCK hand sweeping the slots (see evictOne)
+	private final static int CLOCK_MAX = 8;
+	private int maxEntries = 0;
+	private ToIntFunction<? super V> weigher = null;
+	private int clockHand = 0;
+	private long numEvictions = 0;
+
+	//instrumentation (see HashTableMetrics): resizes, lookups split by
+	//get and put, and the latency of one in every SAMPLE_INTERVAL operations
+	private final static int SAMPLE_INTERVAL = 1024;
+	private int numResizes = 0;
+	private long resizeNanos = 0;
+	private long numGetHits = 0;
+	private long numGetMisses = 0;
+	private long numPutHits = 0;
+	private long numPutMisses = 0;
+	private long numOps = 0;
+	private long numSampled = 0;
+	private long sampledNanos = 0;
+	private long maxSampledNanos = 0;
+
+	/**
+	 * <p> The ways a table can turn a key's hash code into a slot position.
+	 * <p> PRIME_MODULO - prime table sizes, position = hash code % size.
+	 * <p> MIX_POWER_OF_TWO - power of two table sizes; the hash code is first
+	 * 		scrambled by a bit mixing function (the MurmurHash3 finalizer) so
+	 * 		that every bit affects the low bits, which are then masked off,
+	 * 		avoiding a division on every probe.
+	 */
+	public enum Hashing { PRIME_MODULO, MIX_POWER_OF_TWO }
+
+	private Hashing hashing = Hashing.PRIME_MODULO;
 
 	/**
 	 * <p> Constructor
@@ -39,15 +92,63 @@ public class HashTable<K, V>{
 	 * <p> Constructor
 	 * <p> Description:  Creates a new table with a size
 	 * 		equal to the next prime number after the given number.
-	 * 		Initializes each table index with a LinkedList for a
-	 * 		SeparateChaining hash table implementation
+	 * 		Each table index holds a LinkedList for a SeparateChaining
+	 * 		hash table implementation, created on first use
 	 * @param aSize - the given table size
 	 */
 	public HashTable(int aSize){
-		table = new LinkedList[getPrime(aSize)];
-		for (int i=0; i<table.length; i++){
-			table[i] = new LinkedList<HashTableObject<K,V>>();
-		}
+		this(aSize, false, Hashing.PRIME_MODULO);
+	}
+
+	/**
+	 * <p> Constructor
+	 * <p> Description:  Creates a new table as above, choosing how it grows.
+	 * 		With incremental resizing, enlarging the table only allocates
+	 * 		the new slots; the old buckets are then moved a few at a time
+	 * 		by each later get and put, and lookups check both tables until
+	 * 		all are moved. This spreads the cost of a resize over many
+	 * 		operations instead of stalling one put.
+	 * @param aSize - the given table size
+	 * @param incremental - true to resize incrementally
+	 */
+	public HashTable(int aSize, boolean incremental){
+		this(aSize, incremental, Hashing.PRIME_MODULO);
+	}
+
+	/**
+	 * <p> Constructor
+	 * <p> Description:  Creates a new table as above, also choosing how
+	 * 		keys are placed in slots. With MIX_POWER_OF_TWO, the size is the
+	 * 		next power of two at least the given number instead of a prime.
+	 * @param aSize - the given table size
+	 * @param incremental - true to resize incrementally
+	 * @param aHashing - the hashing strategy
+	 */
+	public HashTable(int aSize, boolean incremental, Hashing aHashing){
+		hashing = aHashing;
+		incrementalResize = incremental;
+		table = newTable(tableSize(aSize));
+	}
+
+	/**
+	 * <p> Constructor
+	 * <p> Description:  Creates a new table as above that never holds more
+	 * 		than the given number of entries. When full, adding a key evicts
+	 * 		another one using the CLOCK algorithm: every entry has a few
+	 * 		chances, refilled whenever it is looked up, and the hand sweeping
+	 * 		the table takes one away from each entry it passes until it finds
+	 * 		one with none left. The weigher decides how many chances a lookup
+	 * 		gives (about log2 of the weight), so entries with a low weight
+	 * 		are evicted first.
+	 * @param aSize - the given table size
+	 * @param aMaxEntries - the most entries to keep
+	 * @param aWeigher - gives the weight of a value, or null to weigh all alike
+	 */
+	public HashTable(int aSize, int aMaxEntries, ToIntFunction<? super V> aWeigher){
+		this(aSize);
+		if (aMaxEntries < 1) throw new IllegalArgumentException("maximum entries must be positive");
+		maxEntries = aMaxEntries;
+		weigher = aWeigher;
 	}
 
 	/**
@@ -57,14 +158,21 @@ public class HashTable<K, V>{
 	 * @return null if the key maps to nothing, else the associated value
 	 */
 	public V get(K key){
+		HashTableObject<K, V> o = lookup(key);
+		return (o == null) ? null : o.getValue();
+	}
 
-		int index = getPositionHashtable(key);
-		LinkedList<HashTableObject<K, V>> currentList = table[index];
-
-		if (currentList.size()==1) return table[index].peek().getValue();
-		else if (currentList.size()>1) return getFromList(key, currentList);
-		else return null;
-
+	/**
+	 * <p> Method:  getOrDefault
+	 * <p> Description:  returns the value associated with the given key,
+	 * 			or the given default if there is none
+	 * @param key - the key for which to search
+	 * @param defaultValue - the value to return if the key is not in the table
+	 * @return the associated value, or defaultValue
+	 */
+	public V getOrDefault(K key, V defaultValue){
+		HashTableObject<K, V> o = lookup(key);
+		return (o == null) ? defaultValue : o.getValue();
 	}
 
 	/**
@@ -75,12 +183,7 @@ public class HashTable<K, V>{
 	 * @return true if the key is already in the table, false otherwise
 	 */
 	public boolean containsKey(K key){
-		int index = getPositionHashtable(key);
-		LinkedList<HashTableObject<K, V>> currentList = table[index];
-
-		if (currentList.size()>=1) return listContainsKey(key, currentList);
-		else return false;
-
+		return lookup(key) != null;
 	}
 
 	/**
@@ -91,22 +194,106 @@ public class HashTable<K, V>{
 	 * @param  value - a corresponding value to add to the table
 	 */
 	public void put(K key, V value){
+		putIfAbsent(key, value);
+	}
+
+	/**
+	 * <p> Method:  putIfAbsent
+	 * <p> Description:  puts the given key-value pair into the hash table
+	 * 			if the key is not already there, searching its chain once
+	 * @param key - the key to add to the table
+	 * @param value - a corresponding value to add to the table
+	 * @return the value already associated with the key, or null if
+	 * 			the given pair was added
+	 */
+	public V putIfAbsent(K key, V value){
+		long start = startSample();
+		migrateSome();
+
+		HashTableObject<K, V> o = countPut(find(key));
+		if (o == null) insert(key, value);
+		endSample(start);
+		return (o == null) ? null : o.getValue();
+	}
 
-		int index = getPositionHashtable(key);
-		LinkedList currentList = table[index];
-		int initialListLength = currentList.size();
+	/**
+	 * <p> Method:  computeIfAbsent
+	 * <p> Description:  returns the value associated with the given key,
+	 * 			first adding the value made by the given function if there
+	 * 			is none. The key's chain is searched once either way.
+	 * @param key - the key for which to search
+	 * @param mappingFunction - makes the value for a missing key
+	 * @return the existing or newly added value
+	 */
+	public V computeIfAbsent(K key, Function<? super K, ? extends V> mappingFunction){
+		return computeIfAbsent(key, UnaryOperator.identity(), mappingFunction);
+	}
 
-		if(!this.containsKey(key)){
-			currentList.add(new HashTableObject<K, V>(key, value));
+	/**
+	 * <p> Method:  computeIfAbsent
+	 * <p> Description:  like computeIfAbsent, but a missing key is stored
+	 * 			as the copy made by the given function, so callers may reuse
+	 * 			the key object they pass. The key's chain is searched once either way.
+	 * @param key - the key for which to search
+	 * @param keyCopier - makes the copy of a missing key to store
+	 * @param mappingFunction - makes the value for the stored copy
+	 * @return the existing or newly added value
+	 */
+	public V computeIfAbsent(K key, UnaryOperator<K> keyCopier, Function<? super K, ? extends V> mappingFunction){
+		long start = startSample();
+		migrateSome();
 
-			if ((initialListLength>0) && (currentList.size() > initialListLength))
-				numCollisions++;
+		HashTableObject<K, V> o = countPut(find(key));
+		V value;
+		if (o != null) value = o.getValue();
+		else{
+			K stored = keyCopier.apply(key);
+			value = mappingFunction.apply(stored);
+			if (value != null) insert(stored, value);
+		}
+		endSample(start);
+		return value;
+	}
 
-//			numEntries++;
+	/**
+	 * <p> Method:  merge
+	 * <p> Description:  adds the given key-value pair if the key is not
+	 * 			in the table, otherwise replaces its value with the result of
+	 * 			combining the old and given values. The key's chain is
+	 * 			searched once either way.
+	 * @param key - the key to add or update
+	 * @param value - the value to add, or to combine with the old one
+	 * @param remappingFunction - combines the old value with the given one
+	 * @return the value now associated with the key
+	 */
+	public V merge(K key, V value, BiFunction<? super V, ? super V, ? extends V> remappingFunction){
+		long start = startSample();
+		migrateSome();
 
-			if( ++numEntries > table.length)
-				enlargeTable( );
+		HashTableObject<K, V> o = countPut(find(key));
+		V newValue = value;
+		if (o == null) insert(key, value);
+		else{
+			newValue = remappingFunction.apply(o.getValue(), value);
+			o.setValue(newValue);
 		}
+		endSample(start);
+		return newValue;
+	}
+
+	/**
+	 * <p> Method:  remove
+	 * <p> Description:  removes the given key and its value from the hash table
+	 * @param key - the key to remove
+	 * @return the value that was associated with the key, or null if none
+	 */
+	public V remove(K key){
+		migrateSome();
+
+		V value = removeFromList(key, table[getPositionHashtable(key)]);
+		if (value == null && oldTable != null) value = removeFromList(key, oldTable[oldPosition(key)]);
+		if (value != null) numEntries--;
+		return value;
 	}
 
 	/**
@@ -138,14 +325,230 @@ public class HashTable<K, V>{
 		return numCollisions;
 	}
 
+	/**
+	 * <p> Method:  numProbes
+	 * <p> Description:  gives the number of slots searched so far,
+	 * 			counting both tables while a resize is in progress
+	 * 
+	 * @return numProbes - the number of chain searches
+	 */
+	public long numProbes(){
+		return numProbes;
+	}
+
+	/**
+	 * <p> Method:  numEvictions
+	 * <p> Description:  gives the number of entries evicted to stay
+	 * 			within the maximum size
+	 * 
+	 * @return numEvictions - the number of evictions
+	 */
+	public long numEvictions(){
+		return numEvictions;
+	}
+
+	/**
+	 * <p> Method:  numHits
+	 * <p> Description:  gives the number of lookups that found their key,
+	 * 			by gets and puts together
+	 * 
+	 * @return the number of hits
+	 */
+	public long numHits(){
+		return numGetHits + numPutHits;
+	}
+
+	/**
+	 * <p> Method:  numMisses
+	 * <p> Description:  gives the number of lookups that did not find their
+	 * 			key, by gets and puts together
+	 * 
+	 * @return the number of misses
+	 */
+	public long numMisses(){
+		return numGetMisses + numPutMisses;
+	}
+
+	/**
+	 * <p> Method:  getHitRate
+	 * <p> Description:  gives the percent of lookups that found their key
+	 * 
+	 * @return 0 if nothing has been looked up, else the hit percentage
+	 */
+	public double getHitRate(){
+		long hits = numHits(), lookups = hits + numMisses();
+		return (lookups == 0) ? 0 : 100.0*hits/lookups;
+	}
+
+	/**
+	 * <p> Method:  numGetHits
+	 * <p> Description:  gives the number of get, getOrDefault and containsKey
+	 * 			calls that found their key
+	 * 
+	 * @return numGetHits - the number of get hits
+	 */
+	public long numGetHits(){
+		return numGetHits;
+	}
+
+	/**
+	 * <p> Method:  numGetMisses
+	 * <p> Description:  gives the number of get, getOrDefault and containsKey
+	 * 			calls that did not find their key
+	 * 
+	 * @return numGetMisses - the number of get misses
+	 */
+	public long numGetMisses(){
+		return numGetMisses;
+	}
+
+	/**
+	 * <p> Method:  numPutHits
+	 * <p> Description:  gives the number of put, putIfAbsent, computeIfAbsent
+	 * 			and merge calls that found their key already in the table
+	 * 
+	 * @return numPutHits - the number of put hits
+	 */
+	public long numPutHits(){
+		return numPutHits;
+	}
+
+	/**
+	 * <p> Method:  numPutMisses
+	 * <p> Description:  gives the number of put, putIfAbsent, computeIfAbsent
+	 * 			and merge calls that did not find their key
+	 * 
+	 * @return numPutMisses - the number of put misses
+	 */
+	public long numPutMisses(){
+		return numPutMisses;
+	}
+
+	/**
+	 * <p> Method:  getLoadFactor
+	 * <p> Description:  gives the average number of entries per slot
+	 * 
+	 * @return numEntries / numSlots
+	 */
+	public double getLoadFactor(){
+		return (double)numEntries/table.length;
+	}
+
+	/**
+	 * <p> Method:  numResizes
+	 * <p> Description:  gives the number of times the table has been enlarged
+	 * 
+	 * @return numResizes - the number of resizes
+	 */
+	public int numResizes(){
+		return numResizes;
+	}
+
+	/**
+	 * <p> Method:  getResizeNanos
+	 * <p> Description:  gives the total time spent enlarging the table,
+	 * 			including moving buckets during incremental resizes
+	 * 
+	 * @return resizeNanos - the time spent resizing, in nanoseconds
+	 */
+	public long getResizeNanos(){
+		return resizeNanos;
+	}
+
+	/**
+	 * <p> Method:  numSampled
+	 * <p> Description:  gives the number of operations whose latency was
+	 * 			measured, one in every SAMPLE_INTERVAL gets and puts
+	 * 
+	 * @return numSampled - the number of sampled operations
+	 */
+	public long numSampled(){
+		return numSampled;
+	}
+
+	/**
+	 * <p> Method:  getMeanLatencyNanos
+	 * @return the mean latency of the sampled operations in nanoseconds,
+	 * 			0 if none have been sampled
+	 */
+	public double getMeanLatencyNanos(){
+		return (numSampled == 0) ? 0 : (double)sampledNanos/numSampled;
+	}
+
+	/**
+	 * <p> Method:  getMaxLatencyNanos
+	 * @return the latency of the slowest sampled operation in nanoseconds
+	 */
+	public long getMaxLatencyNanos(){
+		return maxSampledNanos;
+	}
+
+	/**
+	 * <p> Method:  chainLengthHistogram
+	 * <p> Description:  counts the slots by the length of their chain
+	 * @param maxLength - the longest length to count separately
+	 * @return an array whose element i is the number of slots with a
+	 * 			chain of length i; the last element also counts all
+	 * 			longer chains
+	 */
+	public int[] chainLengthHistogram(int maxLength){
+		int[] histogram = new int[maxLength+1];
+		for (int i = 0; i<table.length; i++)
+			histogram[Math.min(maxLength, (table[i] == null) ? 0 : table[i].size())]++;
+		if (oldTable != null)
+			for (int i = migrateIndex; i<oldTable.length; i++)
+				histogram[Math.min(maxLength, (oldTable[i] == null) ? 0 : oldTable[i].size())]++;
+		return histogram;
+	}
+
 	/**
 	 * <p> Method:  getPositionHashtable
 	 * <p> Description:  gets the slot position of the given key in the hash table
 	 * @param key - the key for which we are finding the slot index
-	 * @return the key's hashcode % the number of slots in the hash table
+	 * @return the key's hashcode (made non-negative) % the number of slots in the hash table,
+	 * 			or the mixed hash code masked to the number of slots
 	 */
 	public int getPositionHashtable(K key){
-		return key.hashCode()%table.length;
+		return position(key, table.length);
+	}
+
+	/**
+	 * <p> Method:  position
+	 * @param key - the key for which we are finding the slot index
+	 * @param slots - the number of slots in the table
+	 * @return the key's slot position in a table of that many slots
+	 */
+	private int position(K key, int slots){
+		if (hashing == Hashing.MIX_POWER_OF_TWO) return mix(key.hashCode()) & (slots-1);
+		return (key.hashCode() & 0x7fffffff)%slots;
+	}
+
+	/**
+	 * <p> Method:  mix
+	 * <p> Description:  scrambles a hash code so that each bit of the result
+	 * 			depends on every bit of the input (the MurmurHash3 finalizer)
+	 * @param h - a hash code
+	 * @return the mixed hash code
+	 */
+	static int mix(int h){
+		h ^= h >>> 16;
+		h *= 0x85ebca6b;
+		h ^= h >>> 13;
+		h *= 0xc2b2ae35;
+		h ^= h >>> 16;
+		return h;
+	}
+
+	/**
+	 * <p> Method:  tableSize
+	 * @param givenSize - the least wanted number of slots
+	 * @return the next prime after the given size, or for MIX_POWER_OF_TWO
+	 * 			the next power of two at least the given size
+	 */
+	private int tableSize(int givenSize){
+		if (hashing == Hashing.MIX_POWER_OF_TWO)
+			return (givenSize <= 1) ? 1 : Integer.highestOneBit(givenSize-1) << 1;
+		return getPrime(givenSize);
 	}
 
 	/**
@@ -163,32 +566,180 @@ public class HashTable<K, V>{
 	}
 
 	/**
-	 * <p> Method:  getFromList
-	 * <p> Description:  an internal method used to return the
-	 * 			value associated with the given key if it has experienced a
-	 * 			collision and been placed in a chain
-	 * @param key, aList - the key and the list it is in
-	 * @return null if no object; the value of the key otherwise
+	 * <p> Method:  find
+	 * <p> Description:  an internal method used to find the pair
+	 * 			holding the given key, in its chain of the current table
+	 * 			or, during a resize, of the old table
+	 * @param key - the key for which to search
+	 * @return null if no object; the key's pair otherwise
+	 */
+	private HashTableObject<K, V> find(K key){
+		HashTableObject<K, V> o = findInList(key, table[getPositionHashtable(key)]);
+		if (o == null && oldTable != null) o = findInList(key, oldTable[oldPosition(key)]);
+
+		if (o != null && maxEntries > 0) o.chances = Math.max(o.chances, chances(o.getValue()));
+		return o;
+	}
+
+	/**
+	 * <p> Method:  findInList
+	 * <p> Description:  an internal method used to find the pair
+	 * 			holding the given key in the given chain
+	 * @param key, aList - the key for which to search, and the list to search
+	 * @return null if no object; the key's pair otherwise
 	 */
-	private V getFromList(K key, LinkedList<HashTableObject<K, V>> aList){
+	private HashTableObject<K, V> findInList(K key, LinkedList<HashTableObject<K, V>> aList){
+		numProbes++;
+		if (aList == null) return null;
 		for (HashTableObject<K, V> o : aList){
-			if (o.getKey().equals(key)) return o.getValue();
+			if (o.getKey().equals(key)) return o;
 		}
 		return null;
 	}
 
 	/**
-	 * <p> Method:  listContainsKey
-	 * <p> Description:  an internal method used to determine whether the
-	 * 			given key is in the given chain
-	 * @param aKey, aList - the key for which to search, and the list to search
-	 * @return true if the key is contained, false otherwise
+	 * <p> Method:  lookup
+	 * <p> Description:  an internal method used by get, getOrDefault and
+	 * 			containsKey to find the pair holding the given key, moving
+	 * 			part of a resize along, counting a get hit or miss and
+	 * 			sampling the latency like every other operation
+	 * @param key - the key for which to search
+	 * @return null if no object; the key's pair otherwise
 	 */
-	private boolean listContainsKey(K aKey, LinkedList<HashTableObject<K, V>> aList){
-		for (HashTableObject<K, V> o : aList){
-			if (o.getKey().equals(aKey)) return true;
+	private HashTableObject<K, V> lookup(K key){
+		long start = startSample();
+		migrateSome();
+
+		HashTableObject<K, V> o = find(key);
+		if (o == null) numGetMisses++;
+		else numGetHits++;
+		endSample(start);
+		return o;
+	}
+
+	/**
+	 * <p> Method:  countPut
+	 * <p> Description:  an internal method used to count the result
+	 * 			of the lookup made by a put-style operation
+	 * @param o - the pair found, or null
+	 * @return o
+	 */
+	private HashTableObject<K, V> countPut(HashTableObject<K, V> o){
+		if (o == null) numPutMisses++;
+		else numPutHits++;
+		return o;
+	}
+
+	/**
+	 * <p> Method:  startSample
+	 * <p> Description:  an internal method used at the start of a get or
+	 * 			put, that decides whether to time this operation
+	 * @return the start time if this operation is sampled, else 0
+	 */
+	private long startSample(){
+		return (++numOps % SAMPLE_INTERVAL == 0) ? System.nanoTime() : 0;
+	}
+
+	/**
+	 * <p> Method:  endSample
+	 * <p> Description:  an internal method used at the end of a get or
+	 * 			put, that records its latency if it was sampled
+	 * @param start - the value returned by startSample
+	 */
+	private void endSample(long start){
+		if (start == 0) return;
+		long nanos = System.nanoTime()-start;
+		numSampled++;
+		sampledNanos += nanos;
+		if (nanos > maxSampledNanos) maxSampledNanos = nanos;
+	}
+
+	/**
+	 * <p> Method:  insert
+	 * <p> Description:  an internal method used to add a pair whose key
+	 * 			is known not to be in the table, handling collisions
+	 * 			using separate chaining
+	 * @param key - the key to add to the table
+	 * @param value - a corresponding value to add to the table
+	 */
+	private void insert(K key, V value){
+		LinkedList<HashTableObject<K, V>> currentList = bucket(getPositionHashtable(key));
+		if (currentList.size()>0) numCollisions++;
+		HashTableObject<K, V> added = new HashTableObject<K, V>(key, value);
+		currentList.add(added);
+
+		if (maxEntries > 0){
+			added.chances = chances(value);
+			if (numEntries == maxEntries){
+				evictOne(added);
+				return;
+			}
 		}
-		return false;
+
+		if( ++numEntries > table.length)
+			enlargeTable( );
+	}
+
+	/**
+	 * <p> Method:  removeFromList
+	 * <p> Description:  an internal method used to remove the pair
+	 * 			holding the given key from the given chain
+	 * @param key, aList - the key to remove, and the list to search
+	 * @return null if no object; the removed value otherwise
+	 */
+	private V removeFromList(K key, LinkedList<HashTableObject<K, V>> aList){
+		if (aList == null) return null;
+		for (Iterator<HashTableObject<K, V>> it = aList.iterator(); it.hasNext(); ){
+			HashTableObject<K, V> o = it.next();
+			if (o.getKey().equals(key)){
+				it.remove();
+				return o.getValue();
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * <p> Method:  evictOne
+	 * <p> Description:  an internal method used to remove one entry when
+	 * 			the table is full. The clock hand moves slot by slot, taking
+	 * 			a chance from each entry it passes, and removes the first
+	 * 			entry found with no chances left.
+	 * @param keep - the entry just added, which is never chosen
+	 */
+	private void evictOne(HashTableObject<K, V> keep){
+		//the hand only sweeps the current table
+		while (oldTable != null) migrateSome();
+
+		while (true){
+			LinkedList<HashTableObject<K, V>> currentList = table[clockHand];
+			if (currentList != null){
+				for (Iterator<HashTableObject<K, V>> it = currentList.iterator(); it.hasNext(); ){
+					HashTableObject<K, V> o = it.next();
+					if (o == keep) continue;
+					if (o.chances > 0) o.chances--;
+					else{
+						it.remove();
+						numEvictions++;
+						return;
+					}
+				}
+			}
+			clockHand = (clockHand+1)%table.length;
+		}
+	}
+
+	/**
+	 * <p> Method:  chances
+	 * @param value - the value of an entry that was just used
+	 * @return the number of clock sweeps the entry should survive,
+	 * 			from 1 up to CLOCK_MAX as its weight grows
+	 */
+	private int chances(V value){
+		if (weigher == null) return 1;
+		int weight = weigher.applyAsInt(value);
+		int log = 32 - Integer.numberOfLeadingZeros(Math.max(weight, 0));
+		return Math.min(CLOCK_MAX, 1+log);
 	}
 
 	/**
@@ -197,7 +748,67 @@ public class HashTable<K, V>{
 	 */
 	public void printHashTable(){
 		for (int i = 0; i<table.length; i++)
-			System.out.println(table[i].toString());
+			System.out.println((table[i] == null) ? "[]" : table[i].toString());
+		if (oldTable != null)
+			for (int i = migrateIndex; i<oldTable.length; i++)
+				if (oldTable[i] != null) System.out.println(oldTable[i].toString());
+	}
+
+	/**
+	 * <p> Method: forEach  
+	 * <p> Description:  passes every key-value pair in the table to the given action
+	 * @param action - the action to perform on each pair
+	 */
+	public void forEach(BiConsumer<? super K, ? super V> action){
+		for (int i = 0; i<table.length; i++)
+			if (table[i] != null)
+				for (HashTableObject<K,V> o : table[i])
+					action.accept(o.getKey(), o.getValue());
+		if (oldTable != null)
+			for (int i = migrateIndex; i<oldTable.length; i++)
+				if (oldTable[i] != null)
+					for (HashTableObject<K,V> o : oldTable[i])
+						action.accept(o.getKey(), o.getValue());
+	}
+
+
+	/**
+	 * <p> Method: iterator  
+	 * <p> Description:  gives an iterator over the key-value pairs in the table,
+	 * 		in no particular order. The table must not be changed while iterating.
+	 * @return an iterator over the pairs
+	 */
+	public Iterator<HashTableObject<K, V>> iterator(){
+		return Spliterators.iterator(spliterator());
+	}
+
+	/**
+	 * <p> Method: spliterator  
+	 * <p> Description:  gives a Spliterator over the key-value pairs in the table.
+	 * 		It splits by ranges of slots, so a parallel stream can share the
+	 * 		table between threads without copying it. The table must not be
+	 * 		changed while it is in use.
+	 * @return a Spliterator over the pairs
+	 */
+	public Spliterator<HashTableObject<K, V>> spliterator(){
+		int oldSlots = (oldTable == null) ? 0 : oldTable.length-migrateIndex;
+		return new SlotSpliterator(table, oldTable, migrateIndex, 0, table.length+oldSlots);
+	}
+
+	/**
+	 * <p> Method: stream  
+	 * @return a sequential stream of the key-value pairs in the table
+	 */
+	public Stream<HashTableObject<K, V>> stream(){
+		return StreamSupport.stream(spliterator(), false);
+	}
+
+	/**
+	 * <p> Method: parallelStream  
+	 * @return a parallel stream of the key-value pairs in the table
+	 */
+	public Stream<HashTableObject<K, V>> parallelStream(){
+		return StreamSupport.stream(spliterator(), true);
 	}
 
 
@@ -205,30 +816,185 @@ public class HashTable<K, V>{
 	/**
 	* <p> Method:  enlargeTable
 	* <p> Description:  makes the table approximately 2x larger
-	* 		while retaining the information (rehashes too!)
+	* 		while retaining the information (rehashes too!).
+	* 		Entries are moved straight into their new buckets, since
+	* 		the keys are already known to be unique. With incremental
+	* 		resizing, the move is left to migrateSome.
 	* 
 	* @return none
 	*/
 	private void enlargeTable(){
+		//a resize still in progress must finish before the next one starts
+		while (oldTable != null) migrateSome();
 
-		LinkedList<HashTableObject<K,V>>[] originalTable = table;
-		int newSize = getPrime(2*table.length);
-		table = new LinkedList[newSize];
-		
-		for(int i=0; i<newSize; i++){
-			table[i] = new LinkedList<HashTableObject<K,V>>();
-		}
+		long start = System.nanoTime();
+		numResizes++;
 
-		numEntries=0;
+		LinkedList<HashTableObject<K,V>>[] originalTable = table;
+		table = newTable(tableSize(2*table.length));
 		numCollisions=0;
-		for(int j=0; j<originalTable.length; j++){
-			for (HashTableObject<K,V> a : originalTable[j]){
-				put(a.getKey(), a.getValue());
+		clockHand=0;
+
+		if (incrementalResize){
+			oldTable = originalTable;
+			migrateIndex = 0;
+		}
+		else{
+			for(int j=0; j<originalTable.length; j++){
+				moveBucket(originalTable[j]);
 			}
 		}
+		resizeNanos += System.nanoTime()-start;
 	}
 
+	/**
+	* <p> Method:  migrateSome
+	* <p> Description:  moves the next few buckets of the old table
+	* 		into the current one, if a resize is in progress
+	*/
+	private void migrateSome(){
+		if (oldTable == null) return;
 
+		long start = System.nanoTime();
+		for (int n=0; n<MIGRATE_STEP && migrateIndex<oldTable.length; n++){
+			moveBucket(oldTable[migrateIndex]);
+			oldTable[migrateIndex] = null;
+			migrateIndex++;
+		}
+		if (migrateIndex == oldTable.length) oldTable = null;
+		resizeNanos += System.nanoTime()-start;
+	}
+
+	/**
+	* <p> Method:  moveBucket
+	* <p> Description:  adds every entry of the given bucket to the current table
+	* 		without checking for duplicates
+	* @param bucket - a bucket of the old table
+	*/
+	private void moveBucket(LinkedList<HashTableObject<K,V>> aBucket){
+		if (aBucket == null) return;
+		for (HashTableObject<K,V> a : aBucket){
+			LinkedList<HashTableObject<K,V>> target = bucket(getPositionHashtable(a.getKey()));
+			if (target.size()>0) numCollisions++;
+			target.add(a);
+		}
+	}
+
+	/**
+	* <p> Method:  oldPosition
+	* @param key - a key that may still be in the old table
+	* @return the slot position of the key in the old table
+	*/
+	private int oldPosition(K key){
+		return position(key, oldTable.length);
+	}
+
+	/**
+	* <p> Method:  newTable
+	* <p> Description:  creates a table of empty slots. A slot's LinkedList
+	* 		is only created when something is first put there, so that
+	* 		creating a large table costs no more than allocating the array.
+	* @param size - the number of slots
+	* @return a table of null (empty) slots
+	*/
+	private LinkedList<HashTableObject<K,V>>[] newTable(int size){
+		return new LinkedList[size];
+	}
+
+	/**
+	* <p> Method:  bucket
+	* @param index - a slot position in the current table
+	* @return the slot's list, created if the slot was empty
+	*/
+	private LinkedList<HashTableObject<K,V>> bucket(int index){
+		if (table[index] == null)
+			table[index] = new LinkedList<HashTableObject<K,V>>();
+		return table[index];
+	}
+
+
+
+	/**
+	 * @author Rachael Birky
+	 * 
+	 * <p> This is an internal class that walks the pairs in a range of slots.
+	 * 		The slots of the current table come first, followed by the slots of
+	 * 		the old table still waiting to be moved during an incremental resize;
+	 * 		splitting hands the first half of the remaining range to a new
+	 * 		Spliterator.
+	 */
+	private class SlotSpliterator implements Spliterator<HashTableObject<K, V>>{
+		private final LinkedList<HashTableObject<K,V>>[] current;
+		private final LinkedList<HashTableObject<K,V>>[] old;
+		private final int oldStart;
+		private int index;
+		private final int fence;
+		private Iterator<HashTableObject<K, V>> bucketIterator = null;
+
+		/**
+		 * <p> Constructor
+		 * <p> Description:  creates a Spliterator over the slots from
+		 * 		anIndex up to (not including) aFence
+		 * @param aCurrent, anOld - the current and old tables
+		 * @param anOldStart - the first old slot not yet moved
+		 * @param anIndex, aFence - the range of slots to walk
+		 */
+		private SlotSpliterator(LinkedList<HashTableObject<K,V>>[] aCurrent, LinkedList<HashTableObject<K,V>>[] anOld,
+				int anOldStart, int anIndex, int aFence){
+			current = aCurrent;
+			old = anOld;
+			oldStart = anOldStart;
+			index = anIndex;
+			fence = aFence;
+		}
+
+		/**
+		 * @param i - a position in the range of slots
+		 * @return the chain in that slot, or null if it is empty
+		 */
+		private LinkedList<HashTableObject<K,V>> slot(int i){
+			return (i < current.length) ? current[i] : old[oldStart+i-current.length];
+		}
+
+		public boolean tryAdvance(Consumer<? super HashTableObject<K, V>> action){
+			while (true){
+				if (bucketIterator != null && bucketIterator.hasNext()){
+					action.accept(bucketIterator.next());
+					return true;
+				}
+				if (index >= fence) return false;
+				LinkedList<HashTableObject<K,V>> chain = slot(index++);
+				bucketIterator = (chain == null) ? null : chain.iterator();
+			}
+		}
+
+		public void forEachRemaining(Consumer<? super HashTableObject<K, V>> action){
+			if (bucketIterator != null) bucketIterator.forEachRemaining(action);
+			bucketIterator = null;
+			for (; index < fence; index++){
+				LinkedList<HashTableObject<K,V>> chain = slot(index);
+				if (chain != null)
+					for (HashTableObject<K,V> o : chain) action.accept(o);
+			}
+		}
+
+		public Spliterator<HashTableObject<K, V>> trySplit(){
+			int mid = (index+fence) >>> 1;
+			if (mid <= index) return null;
+			Spliterator<HashTableObject<K, V>> prefix = new SlotSpliterator(current, old, oldStart, index, mid);
+			index = mid;
+			return prefix;
+		}
+
+		public long estimateSize(){
+			int slots = current.length + ((old == null) ? 0 : old.length-oldStart);
+			return (slots == 0) ? 0 : (long)numEntries*(fence-index)/slots;
+		}
+
+		public int characteristics(){
+			return DISTINCT | NONNULL;
+		}
+	}
 
 	/**
 	 * @author Rachael Birky
@@ -241,6 +1007,8 @@ public class HashTable<K, V>{
 	public class HashTableObject<K, V>{
 		private K key;
 		private V value;
+		//remaining clock sweeps before eviction, in a bounded table
+		private int chances = 0;
 
 		/**
 		 * <p> Constructor
@@ -273,6 +1041,16 @@ public class HashTable<K, V>{
 			return this.value;
 		}
 
+		/**
+		 * <p> Method: setValue  
+		 * <p> Description:  replaces the value of the current hash table object
+		 * 
+		 * @param aValue - the new value
+		 */
+		public void setValue(V aValue){
+			this.value = aValue;
+		}
+
 		public String toString(){
 			return key.toString()+":"+value.toString();
 		}
@@ -0,0 +1,139 @@
+package proj4;
+
+import java.lang.management.ManagementFactory;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+/**
+ * @author Rachael Birky
+ * @version 04.23.14
+ * 
+ * <p> HashTableMetrics.java
+ * <p> This class is a JMX MBean that reports the measurements of one
+ * 		HashTable: its size and load, the lengths of its chains, its
+ * 		resizes, the hits and misses of its lookups, and the latency of a
+ * 		sample of its operations. Every value is read from the table when
+ * 		asked for. Register one with the platform MBean server to watch a
+ * 		table with jconsole, or print it at the end of a run.
+ * <p> The table is not thread-safe, so values read from another thread
+ * 		(as JMX does) may be slightly out of date.
+ */
+public class HashTableMetrics implements HashTableMetricsMBean {
+
+	//chains at least this long share the last histogram bucket
+	private static final int MAX_CHAIN_LENGTH = 8;
+
+	private HashTable<?, ?> table;
+
+	/**
+	* <p> Constructor
+	* <p> Description:  creates the metrics of the given table
+	* @param aTable - the hash table to measure
+	*/
+	public HashTableMetrics(HashTable<?, ?> aTable){
+		table = aTable;
+	}
+
+	/**
+	* <p> Method:  register
+	* <p> Description:  publishes the metrics of the given table through
+	* 		the platform MBean server, as proj4:type=HashTable,name=aName
+	* @param aName - the name to show the table under
+	* @param aTable - the hash table to measure
+	* @return the metrics that were registered
+	* @throws JMException if the name is invalid or already in use
+	*/
+	public static HashTableMetrics register(String aName, HashTable<?, ?> aTable) throws JMException{
+		HashTableMetrics metrics = new HashTableMetrics(aTable);
+		ManagementFactory.getPlatformMBeanServer().registerMBean(metrics,
+				new ObjectName("proj4:type=HashTable,name="+ObjectName.quote(aName)));
+		return metrics;
+	}
+
+	public int getNumSlots(){
+		return table.numSlots();
+	}
+
+	public int getNumEntries(){
+		return table.numEntries();
+	}
+
+	public int getNumCollisions(){
+		return table.numCollisions();
+	}
+
+	public double getLoadFactor(){
+		return table.getLoadFactor();
+	}
+
+	public int[] getChainLengthHistogram(){
+		return table.chainLengthHistogram(MAX_CHAIN_LENGTH);
+	}
+
+	public int getNumResizes(){
+		return table.numResizes();
+	}
+
+	public long getResizeMillis(){
+		return table.getResizeNanos()/1000000;
+	}
+
+	public long getGetHits(){
+		return table.numGetHits();
+	}
+
+	public long getGetMisses(){
+		return table.numGetMisses();
+	}
+
+	public long getPutHits(){
+		return table.numPutHits();
+	}
+
+	public long getPutMisses(){
+		return table.numPutMisses();
+	}
+
+	public long getEvictions(){
+		return table.numEvictions();
+	}
+
+	public double getHitRate(){
+		return table.getHitRate();
+	}
+
+	public long getSampledOperations(){
+		return table.numSampled();
+	}
+
+	public double getMeanLatencyNanos(){
+		return table.getMeanLatencyNanos();
+	}
+
+	public long getMaxLatencyNanos(){
+		return table.getMaxLatencyNanos();
+	}
+
+	/**
+	* <p> Method:  print
+	* <p> Description:  prints every metric to the console
+	*/
+	public void print(){
+		System.out.println("HASH TABLE METRICS:");
+		System.out.printf("Load factor: %.2f (%d entries in %d slots)%n", getLoadFactor(), getNumEntries(), getNumSlots());
+		int[] histogram = getChainLengthHistogram();
+		StringBuilder chains = new StringBuilder();
+		for (int i=0; i<histogram.length; i++)
+			chains.append((i == histogram.length-1) ? " "+i+"+:" : " "+i+":").append(histogram[i]);
+		System.out.println("Slots by chain length:"+chains);
+		System.out.println("Resizes: "+getNumResizes()+", taking "+getResizeMillis()+" ms");
+		System.out.println("Get hits/misses: "+getGetHits()+"/"+getGetMisses()
+				+", put hits/misses: "+getPutHits()+"/"+getPutMisses()
+				+", evictions: "+getEvictions());
+		System.out.printf("Hit rate: %.1f%%%n", getHitRate());
+		System.out.printf("Latency of %d sampled operations: mean %.0f ns, max %d ns%n",
+				getSampledOperations(), getMeanLatencyNanos(), getMaxLatencyNanos());
+	}
+
+}
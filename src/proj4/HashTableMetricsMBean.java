@@ -0,0 +1,50 @@
+package proj4;
+
+/**
+ * @author Rachael Birky
+ * @version 04.23.14
+ * 
+ * <p> HashTableMetricsMBean.java
+ * <p> This interface lists the hash table measurements that
+ * 		HashTableMetrics publishes through JMX. Each getter is
+ * 		shown as a read-only attribute (e.g. getLoadFactor as LoadFactor).
+ */
+public interface HashTableMetricsMBean {
+
+	public int getNumSlots();
+
+	public int getNumEntries();
+
+	public int getNumCollisions();
+
+	public double getLoadFactor();
+
+	/**
+	 * @return the number of slots with chains of length 0, 1, ...,
+	 * 		the last element counting all chains at least that long
+	 */
+	public int[] getChainLengthHistogram();
+
+	public int getNumResizes();
+
+	public long getResizeMillis();
+
+	public long getGetHits();
+
+	public long getGetMisses();
+
+	public long getPutHits();
+
+	public long getPutMisses();
+
+	public long getEvictions();
+
+	public double getHitRate();
+
+	public long getSampledOperations();
+
+	public double getMeanLatencyNanos();
+
+	public long getMaxLatencyNanos();
+
+}
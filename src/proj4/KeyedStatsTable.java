@@ -0,0 +1,304 @@
+package proj4;
+
+/**
+ * @author Rachael Birky
+ * @version 04.23.14
+ *
+ * <p> KeyedStatsTable.java
+ * <p> This class is the part shared by the StatsTables that keep each
+ * 		board as a fixed-width record rather than as objects:
+ * 		LongKeyStatsTable (arrays), MappedStatsTable (a mapped file) and
+ * 		OffHeapStatsTable (direct buffers). Each record holds a used flag,
+ * 		the board's key as written by TicTacToe.getKeyWords and its four
+ * 		counters; records are found by linear probing, and the table is
+ * 		doubled when it gets half full. Subclasses only store the records.
+ * <p> The key tells boards apart exactly: it is the base 3 key for boards
+ * 		of up to 39 cells and both players' bitboards for larger ones, so
+ * 		no two boards ever share a record and forEach can rebuild every
+ * 		board. All boards in one table must be the same size, which is
+ * 		taken from the first board added; the records are sized then.
+ */
+public abstract class KeyedStatsTable implements StatsTable {
+
+	//the counters of a record
+	protected static final int SEEN = 0, WINS = 1, DRAWS = 2, LOSSES = 3;
+	protected static final int MAX_SLOTS = 1 << 30;
+
+	//the size of the boards in the table, and the longs in each key;
+	//keyWords is 0 until the first board is added
+	protected int rows, cols, winLength;
+	protected int keyWords = 0;
+
+	protected int numEntries = 0;
+	protected int numCollisions = 0;
+
+	//the key being looked up
+	private long[] key = new long[1];
+
+	/**
+	 * <p> Method:  isUsed
+	 * @param slot - a slot
+	 * @return true if the slot holds a board
+	 */
+	protected abstract boolean isUsed(int slot);
+
+	/**
+	 * <p> Method:  keyWord
+	 * @param slot - a used slot
+	 * @param w - which long of the key, from 0 to keyWords-1
+	 * @return that long of the slot's key
+	 */
+	protected abstract long keyWord(int slot, int w);
+
+	/**
+	 * <p> Method:  claim
+	 * <p> Description:  marks an empty slot used, holding the given key
+	 * 			with zero counts
+	 * @param slot - an empty slot
+	 * @param aKey - the key, keyWords long
+	 */
+	protected abstract void claim(int slot, long[] aKey);
+
+	/**
+	 * <p> Method:  count
+	 * @param slot - a used slot
+	 * @param field - SEEN, WINS, DRAWS or LOSSES
+	 * @return that counter of the slot
+	 */
+	protected abstract int count(int slot, int field);
+
+	/**
+	 * <p> Method:  addCount
+	 * @param slot - a used slot
+	 * @param field - SEEN, WINS, DRAWS or LOSSES
+	 * @param amount - what to add to that counter
+	 */
+	protected abstract void addCount(int slot, int field, int amount);
+
+	/**
+	 * <p> Method:  resize
+	 * <p> Description:  replaces the records with the given number of empty
+	 * 			ones, keyWords long, and puts each old record back with
+	 * 			reinsert. Called with no old records for the first board.
+	 * @param slots - the new number of slots, a power of two
+	 */
+	protected abstract void resize(int slots);
+
+	/**
+	 * <p> Method:  initialSlots
+	 * @return the number of slots to create for the first board
+	 */
+	protected abstract int initialSlots();
+
+	/**
+	 * <p> Method:  added
+	 * <p> Description:  called after each new board is claimed, once
+	 * 			numEntries counts it; a table saved to a file records it here
+	 */
+	protected void added(){
+	}
+
+	/**
+	 * <p> Method:  setKeyWords
+	 * <p> Description:  sets the number of longs in each key, for the
+	 * 			first board or when a saved table is reopened
+	 * @param aKeyWords - the longs in each key
+	 */
+	protected void setKeyWords(int aKeyWords){
+		keyWords = aKeyWords;
+		key = new long[Math.max(1, keyWords)];
+	}
+
+	/**
+	 * <p> Method:  indexOf
+	 * @param t - a board
+	 * @return the slot holding the board, or -1 if it is not in the table
+	 */
+	protected int indexOf(TicTacToe t){
+		if (keyWords == 0 || t.getNumKeyWords() != keyWords) return -1;
+		t.getKeyWords(key);
+		int mask = numSlots()-1;
+		for (int i = slot(key); ; i = (i+1) & mask){
+			if (!isUsed(i)) return -1;
+			if (matches(i, key)) return i;
+		}
+	}
+
+	/**
+	 * <p> Method:  insert
+	 * <p> Description:  finds the given board's slot, first adding the
+	 * 			board with zero counts if it is not in the table
+	 * @param t - the board to find or add
+	 * @return the board's slot
+	 * @throws IllegalArgumentException if the board is not the size of
+	 * 			the boards already in the table
+	 */
+	protected int insert(TicTacToe t){
+		if (keyWords == 0){
+			rows = t.getRows();
+			cols = t.getCols();
+			winLength = t.getWinLength();
+			setKeyWords(t.getNumKeyWords());
+			numCollisions = 0;
+			resize(initialSlots());
+		}
+		else if (t.getRows() != rows || t.getCols() != cols || t.getWinLength() != winLength)
+			throw new IllegalArgumentException("a "+t.getRows()+","+t.getCols()+","+t.getWinLength()
+					+" board in a table of "+rows+","+cols+","+winLength+" boards");
+
+		t.getKeyWords(key);
+		int mask = numSlots()-1;
+		int home = slot(key);
+		for (int i = home; ; i = (i+1) & mask){
+			if (isUsed(i)){
+				if (matches(i, key)) return i;
+				continue;
+			}
+
+			if (numEntries == numSlots()-1)
+				throw new IllegalStateException("table is full at "+numEntries+" boards");
+			if (i != home) numCollisions++;
+			claim(i, key);
+			numEntries++;
+			added();
+			if (2*numEntries > numSlots() && numSlots() < MAX_SLOTS){
+				numCollisions = 0;
+				resize(2*numSlots());
+				return indexOf(t);
+			}
+			return i;
+		}
+	}
+
+	/**
+	 * <p> Method:  reinsert
+	 * <p> Description:  puts a record moved out of the old slots into the
+	 * 			first empty slot of its probe sequence, during resize
+	 * @param aKey - the record's key
+	 * @param seen, wins, draws, losses - the record's counters
+	 */
+	protected void reinsert(long[] aKey, int seen, int wins, int draws, int losses){
+		int mask = numSlots()-1;
+		int i = slot(aKey);
+		if (isUsed(i)) numCollisions++;
+		while (isUsed(i)) i = (i+1) & mask;
+		claim(i, aKey);
+		addCount(i, SEEN, seen);
+		addCount(i, WINS, wins);
+		addCount(i, DRAWS, draws);
+		addCount(i, LOSSES, losses);
+	}
+
+	public boolean containsKey(TicTacToe t){
+		return indexOf(t) >= 0;
+	}
+
+	public void add(TicTacToe t){
+		insert(t);
+	}
+
+	public int getPercentWin(TicTacToe t){
+		int i = indexOf(t);
+		if (i < 0 || count(i, SEEN)==0) return 100;
+		else return (int) (((double)count(i, WINS)/(count(i, SEEN)))*100);
+	}
+
+	public int getNumSeen(TicTacToe t){
+		return get(t, SEEN);
+	}
+
+	public int getNumWins(TicTacToe t){
+		return get(t, WINS);
+	}
+
+	public int getNumDraws(TicTacToe t){
+		return get(t, DRAWS);
+	}
+
+	public int getNumLosses(TicTacToe t){
+		return get(t, LOSSES);
+	}
+
+	public void incrementNumSeen(TicTacToe t){
+		addCount(insert(t), SEEN, 1);
+	}
+
+	public void incrementNumWins(TicTacToe t){
+		addCount(insert(t), WINS, 1);
+	}
+
+	public void incrementNumDraws(TicTacToe t){
+		addCount(insert(t), DRAWS, 1);
+	}
+
+	public void incrementNumLosses(TicTacToe t){
+		addCount(insert(t), LOSSES, 1);
+	}
+
+	public void addStats(TicTacToe t, int seen, int wins, int draws, int losses){
+		int i = insert(t);
+		addCount(i, SEEN, seen);
+		addCount(i, WINS, wins);
+		addCount(i, DRAWS, draws);
+		addCount(i, LOSSES, losses);
+	}
+
+	/**
+	 * <p> Method:  forEach
+	 * <p> Description:  passes every board to the given visitor, rebuilding
+	 * 			each board from its key
+	 * @param visitor - receives each board and its statistics
+	 */
+	public void forEach(Visitor visitor){
+		long[] k = new long[keyWords];
+		for (int i=0; i<numSlots(); i++){
+			if (!isUsed(i)) continue;
+			for (int w=0; w<keyWords; w++) k[w] = keyWord(i, w);
+			visitor.visit(TicTacToe.fromKeyWords(rows, cols, winLength, k),
+					count(i, SEEN), count(i, WINS), count(i, DRAWS), count(i, LOSSES));
+		}
+	}
+
+	public int numEntries(){
+		return numEntries;
+	}
+
+	public int numCollisions(){
+		return numCollisions;
+	}
+
+	public void printHashTable(){
+		for (int i=0; i<numSlots(); i++){
+			if (!isUsed(i)) continue;
+			String k = Long.toString(keyWord(i, 0));
+			for (int w=1; w<keyWords; w++) k += "/"+Long.toHexString(keyWord(i, w));
+			System.out.println(k+":"+count(i, WINS)+"/"+count(i, DRAWS)+"/"+count(i, LOSSES)+" of "+count(i, SEEN));
+		}
+	}
+
+	private int get(TicTacToe t, int field){
+		int i = indexOf(t);
+		return (i < 0) ? 0 : count(i, field);
+	}
+
+	private boolean matches(int slot, long[] aKey){
+		for (int w=0; w<keyWords; w++)
+			if (keyWord(slot, w) != aKey[w]) return false;
+		return true;
+	}
+
+	/**
+	 * <p> Method:  slot
+	 * @param aKey - a key, keyWords long
+	 * @return the key's home slot, after mixing its bits (the SplitMix64 finalizer)
+	 */
+	private int slot(long[] aKey){
+		long z = aKey[0];
+		for (int w=1; w<keyWords; w++) z = z*0x9E3779B97F4A7C15L + aKey[w];
+		z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+		z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+		z ^= z >>> 31;
+		return (int) z & (numSlots()-1);
+	}
+
+}
@@ -0,0 +1,115 @@
+package proj4;
+
+/**
+ * @author Rachael Birky
+ * @version 04.23.14
+ *
+ * <p> LongKeyStatsTable.java
+ * <p> This class is a StatsTable specialized for TicTacToe boards.
+ * 		A board's key (see TicTacToe.getKeyWords) already identifies it,
+ * 		so instead of chaining HashTableObjects, the keys and the four counters
+ * 		are kept in parallel primitive arrays and collisions are handled with
+ * 		linear probing (see KeyedStatsTable). Nothing is allocated per entry,
+ * 		and lookups never call equals.
+ */
+public class LongKeyStatsTable extends KeyedStatsTable {
+
+	private final static int INITIAL_SIZE = 32;
+
+	private final int initialSlots;
+
+	private boolean[] used = new boolean[0];
+	//the key of slot i is keys[i*keyWords] to keys[i*keyWords + keyWords-1]
+	private long[] keys;
+	private int[] numSeen;
+	private int[] numWins;
+	private int[] numDraws;
+	private int[] numLosses;
+
+	/**
+	 * <p> Constructor
+	 * <p> Description:  Calls the other constructor,
+	 * 		passing the default table size
+	 */
+	public LongKeyStatsTable(){
+		this(INITIAL_SIZE);
+	}
+
+	/**
+	 * <p> Constructor
+	 * <p> Description:  Creates a new table with a size equal to the
+	 * 		next power of two that keeps the given number of entries
+	 * 		under half full
+	 * @param aSize - the expected number of entries
+	 */
+	public LongKeyStatsTable(int aSize){
+		int capacity = INITIAL_SIZE;
+		while (capacity < 2*aSize) capacity <<= 1;
+		initialSlots = capacity;
+	}
+
+	public int numSlots(){
+		return used.length;
+	}
+
+	protected int initialSlots(){
+		return initialSlots;
+	}
+
+	protected boolean isUsed(int slot){
+		return used[slot];
+	}
+
+	protected long keyWord(int slot, int w){
+		return keys[slot*keyWords + w];
+	}
+
+	protected void claim(int slot, long[] aKey){
+		used[slot] = true;
+		System.arraycopy(aKey, 0, keys, slot*keyWords, keyWords);
+	}
+
+	protected int count(int slot, int field){
+		return counters(field)[slot];
+	}
+
+	protected void addCount(int slot, int field, int amount){
+		counters(field)[slot] += amount;
+	}
+
+	/**
+	* <p> Method:  resize
+	* <p> Description:  replaces the arrays with larger ones, moving each key
+	* 		and its counters directly into its new slot
+	*/
+	protected void resize(int slots){
+		boolean[] oldUsed = used;
+		long[] oldKeys = keys;
+		int[] oldSeen = numSeen, oldWins = numWins,
+				oldDraws = numDraws, oldLosses = numLosses;
+
+		used = new boolean[slots];
+		keys = new long[slots*keyWords];
+		numSeen = new int[slots];
+		numWins = new int[slots];
+		numDraws = new int[slots];
+		numLosses = new int[slots];
+
+		long[] aKey = new long[keyWords];
+		for (int j=0; j<oldUsed.length; j++){
+			if (!oldUsed[j]) continue;
+			System.arraycopy(oldKeys, j*keyWords, aKey, 0, keyWords);
+			reinsert(aKey, oldSeen[j], oldWins[j], oldDraws[j], oldLosses[j]);
+		}
+	}
+
+	private int[] counters(int field){
+		switch (field){
+			case SEEN: return numSeen;
+			case WINS: return numWins;
+			case DRAWS: return numDraws;
+			default: return numLosses;
+		}
+	}
+
+}
@@ -0,0 +1,267 @@
+package proj4;
+
+import java.util.ArrayList;
+import java.util.Random;
+
+/**
+ * @author Rachael Birky
+ * @version 04.23.14
+ * 
+ * <p> MCTSPlayer.java
+ * <p> This class represents a TicTacToe player that uses Monte Carlo
+ * 		Tree Search (UCT). Before each move it runs a budget of playouts
+ * 		from the current board: it walks down the boards it already knows,
+ * 		choosing by the UCT formula, adds one new board, plays the game out
+ * 		at random (like RandomAI) and counts the result in every board on
+ * 		the way down.
+ * <p> The statistics are Stats objects kept in a HashTable keyed by board,
+ * 		so a board reached by different orders of moves shares one entry.
+ * 		A board's wins, draws and losses are from the point of view of the
+ * 		player who moved into it, and numSeen counts its visits.
+ * <p> The successors of each board on a playout's way down are built in
+ * 		boards reused from playout to playout, one row per depth, so a
+ * 		playout only allocates the boards it adds to the tree.
+ */
+public class MCTSPlayer implements Player {
+
+	//the exploration constant, sqrt(2)
+	private static final double EXPLORATION = Math.sqrt(2);
+
+	private HashTable<TicTacToe, Stats> tree = new HashTable<TicTacToe, Stats>(283);
+	private Random generator = new Random();
+	private RandomAI rollout = new RandomAI();
+	private ArrayList<TicTacToe> path = new ArrayList<TicTacToe>();
+
+	//reused by playouts: children[d] holds the successors of the board at
+	//depth d of the current playout, and game is the board played out at random
+	private TicTacToe[][] children = new TicTacToe[0][];
+	private TicTacToe game = new TicTacToe();
+
+	private int playoutBudget;
+	private long timeBudget = 0;
+
+	private long totalPlayouts = 0;
+	private long totalNanos = 0;
+
+	/**
+	* <p> Constructor
+	* <p> Description:  creates a new MCTS player that runs the given
+	* 		number of playouts per move
+	* @param playouts - the number of playouts to run before each move
+	*/
+	public MCTSPlayer(int playouts){
+		playoutBudget = playouts;
+	}
+
+	/**
+	* <p> Method:  setTimeBudget
+	* <p> Description:  makes each move run playouts for the given time
+	* 		instead of a fixed number of playouts
+	* @param millis - milliseconds to search per move, 0 to use the playout budget
+	*/
+	public void setTimeBudget(long millis){
+		timeBudget = millis*1000000;
+	}
+
+	/**
+	* <p> Method:  setSeed
+	* <p> Description:  seeds the random playouts as well as the tie breaking
+	* @param seed - the seed to use
+	*/
+	public void setSeed(long seed){
+		generator.setSeed(seed);
+		rollout = new RandomAI(seed);
+	}
+
+	/**
+	* <p> Method:  move
+	* <p> Description:  runs the playout budget from the given board,
+	* 		then plays the move that was visited most
+	* @param t - the board on which to move
+	* 
+	*/
+	public void move(TicTacToe t){
+		if (t.isOver()) return;
+
+		long start = System.nanoTime();
+		int playouts = 0;
+		do{
+			playout(t);
+			playouts++;
+		} while ((timeBudget > 0) ? (System.nanoTime()-start < timeBudget) : (playouts < playoutBudget));
+		totalPlayouts += playouts;
+		totalNanos += System.nanoTime()-start;
+
+		TicTacToe[] next = children[0];
+		TicTacToe best = null;
+		int mostVisits = -1;
+		for (int k=0, n=successors(t, 0); k<n; k++){
+			Stats s = tree.get(next[k]);
+			int visits = (s == null) ? 0 : s.getNumSeen();
+			if (visits > mostVisits){
+				mostVisits = visits;
+				best = next[k];
+			}
+		}
+		moveTo(t, best);
+	}
+
+	/**
+	* <p> Method:  playout
+	* <p> Description:  runs one select, expand, random playout and
+	* 		update pass starting at the given board
+	* @param root - the board to search from
+	*/
+	private void playout(TicTacToe root){
+		path.clear();
+		TicTacToe board = root;
+
+		//select: follow UCT while every successor has been visited
+		for (int depth=0; !board.isOver(); depth++){
+			int numChildren = successors(board, depth);
+			TicTacToe[] next = children[depth];
+			TicTacToe unvisited = null;
+			int numUnvisited = 0;
+			for (int k=0; k<numChildren; k++){
+				Stats s = tree.get(next[k]);
+				//pick uniformly among the unvisited ones
+				if ((s == null || s.getNumSeen() == 0) && generator.nextInt(++numUnvisited) == 0)
+					unvisited = next[k];
+			}
+
+			if (unvisited != null){
+				//expand: add one new board (a copy, as the buffer is reused) and stop descending
+				tree.computeIfAbsent(unvisited, TicTacToe::new, Stats::new);
+				board = unvisited;
+				path.add(board);
+				break;
+			}
+
+			board = bestChild(next, numChildren);
+			path.add(board);
+		}
+
+		//play out at random from the last board
+		game.set(board);
+		while (!game.isOver()) rollout.move(game);
+		int winner = game.getWinner();
+
+		//update every board on the path
+		for (TicTacToe aBoard : path){
+			Stats s = tree.get(aBoard);
+			s.incrementNumSeen();
+			if (winner == 0) s.incrementNumDraws();
+			else if (winner == mover(aBoard)) s.incrementNumWins();
+			else s.incrementNumLosses();
+		}
+	}
+
+	/**
+	* <p> Method:  bestChild
+	* @param next - the successors of a board, all of them visited
+	* @param numChildren - the number of successors
+	* @return the successor with the highest UCT score
+	*/
+	private TicTacToe bestChild(TicTacToe[] next, int numChildren){
+		int parentVisits = 0;
+		for (int k=0; k<numChildren; k++) parentVisits += tree.get(next[k]).getNumSeen();
+		double logVisits = Math.log(parentVisits);
+
+		TicTacToe best = null;
+		double bestScore = Double.NEGATIVE_INFINITY;
+		for (int k=0; k<numChildren; k++){
+			TicTacToe child = next[k];
+			Stats s = tree.get(child);
+			double visits = s.getNumSeen();
+			double score = (s.getNumWins() + 0.5*s.getNumDraws())/visits
+					+ EXPLORATION*Math.sqrt(logVisits/visits);
+			if (score > bestScore){
+				bestScore = score;
+				best = child;
+			}
+		}
+		return best;
+	}
+
+	/**
+	* <p> Method:  successors
+	* <p> Description:  builds every board one move after the given board
+	* 		in children[depth], replacing the successors built there before.
+	* 		The buffer is sized to the board the first time, like
+	* 		SmartPlayer's tiedCells.
+	* @param t - a board that is not over
+	* @param depth - the depth of t below the board being moved on
+	* @return the number of successors
+	*/
+	private int successors(TicTacToe t, int depth){
+		int numCells = t.getNumCells();
+		if (children.length < numCells){
+			children = new TicTacToe[numCells][];
+			for (int d=0; d<numCells; d++){
+				children[d] = new TicTacToe[numCells];
+				for (int k=0; k<numCells; k++) children[d][k] = new TicTacToe(t);
+			}
+		}
+
+		TicTacToe[] next = children[depth];
+		int index = 0;
+		for (int i=0; i<t.getRows(); i++){
+			for (int j=0; j<t.getCols(); j++){
+				if (t.playerAt(i, j) == 0){
+					next[index].set(t);
+					next[index].move(i, j);
+					index++;
+				}
+			}
+		}
+		return index;
+	}
+
+	/**
+	* <p> Method:  moveTo
+	* <p> Description:  plays the move that turns the given board into the given successor
+	* @param t - the board on which to move
+	* @param next - a successor of t
+	*/
+	private void moveTo(TicTacToe t, TicTacToe next){
+		for (int i=0; i<t.getRows(); i++){
+			for (int j=0; j<t.getCols(); j++){
+				if (t.playerAt(i, j) != next.playerAt(i, j)){
+					t.move(i, j);
+					return;
+				}
+			}
+		}
+	}
+
+	/**
+	* <p> Method:  mover
+	* @param t - a board with at least one move played
+	* @return the number of the player who made the last move
+	*/
+	private int mover(TicTacToe t){
+		return (t.getTurnNum()%2 == 0) ? 1 : 2;
+	}
+
+	/**
+	* <p> Method:  getPlayoutsPerSecond
+	* @return the average number of playouts run per second of searching
+	*/
+	public long getPlayoutsPerSecond(){
+		if (totalNanos == 0) return 0;
+		return (long) (totalPlayouts/(totalNanos/1e9));
+	}
+
+	/**
+	* <p> Method:  getTotalPlayouts
+	* @return the number of playouts run so far
+	*/
+	public long getTotalPlayouts(){
+		return totalPlayouts;
+	}
+
+	public String toString(){
+		return "MCTS Player";
+	}
+
+}
@@ -0,0 +1,213 @@
+package proj4;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * @author Rachael Birky
+ * @version 04.23.14
+ *
+ * <p> MappedStatsTable.java
+ * <p> This class is a StatsTable that lives in a memory-mapped file,
+ * 		so that what a SmartPlayer learns survives after the program ends.
+ * <p> The file is a 32 byte header (magic number, version, number of
+ * 		slots, number of entries, the rows, columns and win length of
+ * 		the boards and the number of longs in a key) followed by one
+ * 		fixed-width record per slot: a used flag, the seen, win, draw and
+ * 		loss counts and the board's key (see KeyedStatsTable). Records are
+ * 		found by linear probing directly in the mapped file. Opening an
+ * 		existing file only maps it, so nothing is read entry by entry,
+ * 		and every update is written straight to the file's pages.
+ * 		Call checkpoint to force them to disk.
+ * <p> Growing the table never rewrites the file in place: the larger table
+ * 		is built in a sibling file (the name plus ".tmp"), forced to disk
+ * 		and then atomically moved over the original, so a crash during a
+ * 		resize leaves the last complete table behind.
+ */
+public class MappedStatsTable extends KeyedStatsTable {
+
+	private static final int MAGIC = 0x54545434;	//"TTT4"
+	private static final int VERSION = 1;
+	private static final int HEADER = 32;
+
+	//offsets of the fields in the header and in a record
+	private static final int SLOTS_AT = 8, ENTRIES_AT = 12, ROWS_AT = 16, COLS_AT = 20, WIN_AT = 24, WORDS_AT = 28;
+	private static final int USED = 0, COUNTS = 8, KEY = 24;
+
+	private final Path path;
+	private final int initialSlots;
+	private FileChannel channel;
+	private MappedByteBuffer buffer;
+	private int numSlots = 0;
+
+	/**
+	 * <p> Constructor
+	 * <p> Description:  opens the table stored in the given file, or
+	 * 		creates the file if it does not exist yet
+	 * @param aPath - the file to keep the table in
+	 * @param aSize - the expected number of entries, used for a new file
+	 * @throws IOException if the file cannot be opened, or is not a table
+	 */
+	public MappedStatsTable(String aPath, int aSize) throws IOException{
+		path = Paths.get(aPath);
+		int capacity = 32;
+		while (capacity < 2*aSize) capacity <<= 1;
+		initialSlots = capacity;
+
+		if (!Files.exists(path) || Files.size(path) == 0){
+			//no boards yet: just a header, records are sized by the first board
+			rebuild(0);
+		}
+		else{
+			channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+			buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size());
+			if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION)
+				throw new IOException(path+" is not a saved TicTacToe table");
+			numSlots = buffer.getInt(SLOTS_AT);
+			numEntries = buffer.getInt(ENTRIES_AT);
+			rows = buffer.getInt(ROWS_AT);
+			cols = buffer.getInt(COLS_AT);
+			winLength = buffer.getInt(WIN_AT);
+			setKeyWords(buffer.getInt(WORDS_AT));
+			if (channel.size() < HEADER + (long) numSlots*record())
+				throw new IOException(path+" is truncated");
+		}
+	}
+
+	/**
+	 * <p> Method:  checkpoint
+	 * <p> Description:  forces every update made so far out to the file,
+	 * 			so that training can resume from here after a crash
+	 */
+	public void checkpoint(){
+		buffer.force();
+	}
+
+	/**
+	 * <p> Method:  close
+	 * <p> Description:  checkpoints the table and closes its file
+	 * @throws IOException if the file cannot be closed
+	 */
+	public void close() throws IOException{
+		checkpoint();
+		channel.close();
+	}
+
+	public int numSlots(){
+		return numSlots;
+	}
+
+	protected int initialSlots(){
+		return initialSlots;
+	}
+
+	protected boolean isUsed(int slot){
+		return buffer.getInt(offset(slot)+USED) != 0;
+	}
+
+	protected long keyWord(int slot, int w){
+		return buffer.getLong(offset(slot)+KEY+8*w);
+	}
+
+	protected void claim(int slot, long[] aKey){
+		int at = offset(slot);
+		buffer.putInt(at+USED, 1);
+		for (int w=0; w<keyWords; w++) buffer.putLong(at+KEY+8*w, aKey[w]);
+	}
+
+	protected int count(int slot, int field){
+		return buffer.getInt(offset(slot)+COUNTS+4*field);
+	}
+
+	protected void addCount(int slot, int field, int amount){
+		int at = offset(slot)+COUNTS+4*field;
+		buffer.putInt(at, buffer.getInt(at)+amount);
+	}
+
+	protected void added(){
+		buffer.putInt(ENTRIES_AT, numEntries);
+	}
+
+	/**
+	* <p> Method:  resize
+	* <p> Description:  rebuilds the file with the given number of slots,
+	* 		each record in its new slot
+	*/
+	protected void resize(int slots){
+		try{
+			rebuild(slots);
+		}
+		catch (IOException e){
+			throw new IllegalStateException("could not enlarge the table file", e);
+		}
+	}
+
+	/**
+	 * <p> Method:  rebuild
+	 * <p> Description:  writes a new table of the given size holding every
+	 * 			record into the sibling temp file, forces it to disk and
+	 * 			moves it over the table's file, which is left untouched if
+	 * 			anything goes wrong first
+	 * @param slots - the number of slots, a power of two (or 0 before the first board)
+	 */
+	private void rebuild(int slots) throws IOException{
+		Path temp = path.resolveSibling(path.getFileName()+".tmp");
+		FileChannel newChannel = FileChannel.open(temp, StandardOpenOption.CREATE,
+				StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE);
+
+		MappedByteBuffer oldBuffer = buffer;
+		int oldSlots = numSlots, oldCollisions = numCollisions;
+		try{
+			buffer = newChannel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER + (long) slots*record());
+			numSlots = slots;
+			buffer.putInt(0, MAGIC);
+			buffer.putInt(4, VERSION);
+			buffer.putInt(SLOTS_AT, numSlots);
+			buffer.putInt(ENTRIES_AT, numEntries);
+			buffer.putInt(ROWS_AT, rows);
+			buffer.putInt(COLS_AT, cols);
+			buffer.putInt(WIN_AT, winLength);
+			buffer.putInt(WORDS_AT, keyWords);
+			for (int at=HEADER; at<buffer.capacity(); at+=4) buffer.putInt(at, 0);
+
+			long[] aKey = new long[keyWords];
+			int[] counts = new int[4];
+			for (int j=0; j<oldSlots; j++){
+				int at = HEADER + j*record();
+				if (oldBuffer.getInt(at+USED) == 0) continue;
+				for (int w=0; w<keyWords; w++) aKey[w] = oldBuffer.getLong(at+KEY+8*w);
+				for (int f=0; f<4; f++) counts[f] = oldBuffer.getInt(at+COUNTS+4*f);
+				reinsert(aKey, counts[SEEN], counts[WINS], counts[DRAWS], counts[LOSSES]);
+			}
+			buffer.force();
+			Files.move(temp, path, StandardCopyOption.ATOMIC_MOVE);
+		}
+		catch (IOException | RuntimeException e){
+			newChannel.close();
+			Files.deleteIfExists(temp);
+			buffer = oldBuffer;
+			numSlots = oldSlots;
+			numCollisions = oldCollisions;
+			throw e;
+		}
+
+		//the new channel now refers to the file at path
+		if (channel != null) channel.close();
+		channel = newChannel;
+	}
+
+	private int record(){
+		return KEY + 8*keyWords;
+	}
+
+	private int offset(int slot){
+		return HEADER + slot*record();
+	}
+
+}
@@ -0,0 +1,237 @@
+package proj4;
+
+import java.util.Arrays;
+
+/**
+ * @author Rachael Birky
+ * @version 04.23.14
+ * 
+ * <p> MinimaxPlayer.java
+ * <p> This class represents a TicTacToe player that searches the game tree
+ * 		with negamax (min-max from the point of view of the player to move)
+ * 		and alpha-beta pruning. Every grid it scores is stored in a HashTable,
+ * 		so a grid reached again through a different order of moves is
+ * 		looked up instead of searched again.
+ * <p> A win scores 1 more than the number of empty spaces left, so sooner
+ * 		wins (and later losses) are preferred. A draw scores 0.
+ * <p> Moves are tried from the center out (see order), which on a 3x3
+ * 		board is the center, the corners and then the edges.
+ */
+public class MinimaxPlayer implements Player {
+
+	boolean debug = false;
+
+	//what a stored score means when the search was cut short;
+	//UNSEARCHED marks a board just added to the table
+	private static final int EXACT = 0;
+	private static final int LOWER_BOUND = 1;
+	private static final int UPPER_BOUND = 2;
+	private static final int UNSEARCHED = 3;
+
+	//the cells in the order to try them, for boards of orderRows x orderCols
+	private int[] order = new int[0];
+	private int orderRows, orderCols;
+
+	private HashTable<TicTacToe, Score> table = new HashTable<TicTacToe, Score>(283);
+
+	//counts for the last call to move
+	private int nodesSearched;
+	private int tableProbes;
+	private int tableHits;
+
+	/**
+	* <p> Constructor
+	* <p> Description:  creates a new minimax player with an empty table
+	*/
+	public MinimaxPlayer(){
+	}
+
+	/**
+	* <p> Method:  move
+	* <p> Description:  makes the best move on the given board for
+	* 		whichever player's turn it is
+	* @param t - the board on which to move
+	* 
+	*/
+	public void move(TicTacToe t){
+		if (t.isOver()) return;
+
+		nodesSearched = 0;
+		tableProbes = 0;
+		tableHits = 0;
+		if (t.getRows() != orderRows || t.getCols() != orderCols) order(t.getRows(), t.getCols());
+
+		int bestCell = winningCell(t);
+		if (bestCell < 0){
+			int alpha = -100, beta = 100;
+			for (int i=0; i<order.length; i++){
+				TicTacToe child = new TicTacToe(t);
+				if (!child.move(order[i]/orderCols, order[i]%orderCols)) continue;
+
+				int score = -negamax(child, -beta, -alpha);
+				if (score > alpha || bestCell < 0){
+					alpha = score;
+					bestCell = order[i];
+				}
+			}
+		}
+		t.move(bestCell/orderCols, bestCell%orderCols);
+
+		if (debug) System.out.println(nodesSearched+" nodes, "+tableHits+"/"+tableProbes+" table hits");
+	}
+
+	/**
+	* <p> Method:  negamax
+	* <p> Description:  scores the given board for the player to move,
+	* 		searching only as far as needed to tell whether the score
+	* 		is inside (alpha, beta)
+	* @param t - the board to score
+	* @param alpha - the score the player to move is already sure of
+	* @param beta - the score the opponent is already sure of
+	* @return the board's score, or a bound on it outside (alpha, beta)
+	*/
+	private int negamax(TicTacToe t, int alpha, int beta){
+		nodesSearched++;
+
+		if (t.isOver()){
+			//the last move either won or filled the board
+			return (t.getWinner() > 0) ? -(t.numEmpty()+1) : 0;
+		}
+
+		//one probe finds the board or adds it, to be filled in below
+		tableProbes++;
+		Score stored = table.computeIfAbsent(t, TicTacToe::new, k -> new Score(0, UNSEARCHED));
+		if (stored.bound != UNSEARCHED){
+			tableHits++;
+			if (stored.bound == EXACT) return stored.score;
+			if (stored.bound == LOWER_BOUND) alpha = Math.max(alpha, stored.score);
+			else beta = Math.min(beta, stored.score);
+			if (alpha >= beta) return stored.score;
+		}
+
+		int originalAlpha = alpha;
+		int best;
+		int win = winningCell(t);
+		if (win >= 0){
+			best = t.numEmpty();
+		}
+		else{
+			best = -100;
+			for (int i=0; i<order.length; i++){
+				TicTacToe child = new TicTacToe(t);
+				if (!child.move(order[i]/orderCols, order[i]%orderCols)) continue;
+
+				int score = -negamax(child, -beta, -alpha);
+				if (score > best) best = score;
+				if (best > alpha) alpha = best;
+				if (alpha >= beta) break;
+			}
+		}
+
+		stored.score = best;
+		stored.bound = (best <= originalAlpha) ? UPPER_BOUND : (best >= beta) ? LOWER_BOUND : EXACT;
+		return best;
+	}
+
+	/**
+	* <p> Method:  winningCell
+	* @param t - a board that is not over
+	* @return a cell where the player to move wins at once, or -1 if there is none
+	*/
+	private int winningCell(TicTacToe t){
+		for (int i=0; i<order.length; i++){
+			TicTacToe child = new TicTacToe(t);
+			if (child.move(order[i]/orderCols, order[i]%orderCols) && child.getWinner() > 0) return order[i];
+		}
+		return -1;
+	}
+
+	/**
+	* <p> Method:  order
+	* <p> Description:  sets the order in which to try the cells of a board
+	* 		of the given size: ring by ring out from the center, and in each
+	* 		ring the cells farthest from the center (its corners) first
+	* @param rows - the number of rows
+	* @param cols - the number of columns
+	*/
+	private void order(int rows, int cols){
+		Integer[] cells = new Integer[rows*cols];
+		for (int c=0; c<cells.length; c++) cells[c] = c;
+		//distances in half cells, so an even-sized board's center is exact
+		Arrays.sort(cells, (a, b) -> {
+			int ai = Math.abs(2*(a/cols)-(rows-1)), aj = Math.abs(2*(a%cols)-(cols-1));
+			int bi = Math.abs(2*(b/cols)-(rows-1)), bj = Math.abs(2*(b%cols)-(cols-1));
+			int ring = Integer.compare(Math.max(ai, aj), Math.max(bi, bj));
+			if (ring != 0) return ring;
+			int corner = Integer.compare(bi+bj, ai+aj);
+			return (corner != 0) ? corner : Integer.compare(a, b);
+		});
+
+		order = new int[cells.length];
+		for (int c=0; c<cells.length; c++) order[c] = cells[c];
+		orderRows = rows;
+		orderCols = cols;
+	}
+
+	/**
+	* <p> Method:  getNodesSearched
+	* @return the number of boards visited during the last move
+	*/
+	public int getNodesSearched(){
+		return nodesSearched;
+	}
+
+	/**
+	* <p> Method:  getTableHits
+	* @return the number of boards found in the table during the last move
+	*/
+	public int getTableHits(){
+		return tableHits;
+	}
+
+	/**
+	* <p> Method:  getTableProbes
+	* @return the number of table lookups during the last move
+	*/
+	public int getTableProbes(){
+		return tableProbes;
+	}
+
+	/**
+	* <p> Method:  getHitRate
+	* @return the percent of table lookups that hit during the last move
+	*/
+	public int getHitRate(){
+		if (tableProbes == 0) return 0;
+		else return (int) (((double)tableHits/tableProbes)*100);
+	}
+
+	/**
+	* <p> Method:  getNumEntries
+	* @return the number of boards stored in the table
+	*/
+	public int getNumEntries(){
+		return table.numEntries();
+	}
+
+	public String toString(){
+		return "Minimax Player";
+	}
+
+
+
+	/**
+	 * <p> This is an internal class used as the value in the table.
+	 * 		It holds a board's score and whether that score is exact.
+	 */
+	private static class Score {
+		private int score;
+		private int bound;
+
+		private Score(int aScore, int aBound){
+			score = aScore;
+			bound = aBound;
+		}
+	}
+
+}
@@ -0,0 +1,196 @@
+package proj4;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * @author Rachael Birky
+ * @version 04.23.14
+ *
+ * <p> OffHeapStatsTable.java
+ * <p> This class is a StatsTable for very large numbers of boards. The
+ * 		records (see KeyedStatsTable) are kept in direct ByteBuffers,
+ * 		outside the Java heap, so the garbage collector has nothing to
+ * 		trace however many boards are learned.
+ * <p> A single ByteBuffer holds at most 2 GB, so the records are split
+ * 		into chunks of a power of two records each.
+ * <p> getStats gives a board's statistics as a Stats flyweight: one view
+ * 		object reused for every board, reading and writing the record in place.
+ */
+public class OffHeapStatsTable extends KeyedStatsTable {
+
+	//record layout: the used flag, the four counters, then the key
+	private static final int USED = 0, COUNTS = 8, KEY = 24;
+	private static final int MAX_CHUNK_BITS = 22;
+
+	private final int initialSlots;
+	private ByteBuffer[] chunks = new ByteBuffer[0];
+	private int numSlots = 0;
+	private int recordBytes;
+	private int chunkBits;
+
+	private final View view = new View();
+
+	/**
+	 * <p> Constructor
+	 * <p> Description:  creates a new table with room for about the given
+	 * 		number of boards before it has to grow
+	 * @param expectedBoards - the number of boards expected
+	 */
+	public OffHeapStatsTable(int expectedBoards){
+		int slots = 16;
+		while (slots < MAX_SLOTS && slots/2 < expectedBoards) slots *= 2;
+		initialSlots = slots;
+	}
+
+	/**
+	 * <p> Method:  getStats
+	 * <p> Description:  gives the statistics of the given board, adding the
+	 * 			board first if it is not in the table. The returned object is
+	 * 			a view shared by every call, valid only until the next call
+	 * 			to this table.
+	 * @param t - the board to access
+	 * @return a view of the board's statistics
+	 */
+	public Stats getStats(TicTacToe t){
+		view.slot = insert(t);
+		return view;
+	}
+
+	public int getPercentWin(TicTacToe t){
+		int i = indexOf(t);
+		if (i < 0) return 100;
+		view.slot = i;
+		return view.getPercentWin();
+	}
+
+	public int addAndGetPercentWin(TicTacToe t){
+		return getStats(t).getPercentWin();
+	}
+
+	public int numSlots(){
+		return numSlots;
+	}
+
+	protected int initialSlots(){
+		return initialSlots;
+	}
+
+	protected boolean isUsed(int slot){
+		return chunk(slot).getInt(offset(slot)+USED) != 0;
+	}
+
+	protected long keyWord(int slot, int w){
+		return chunk(slot).getLong(offset(slot)+KEY+8*w);
+	}
+
+	protected void claim(int slot, long[] aKey){
+		ByteBuffer chunk = chunk(slot);
+		int at = offset(slot);
+		chunk.putInt(at+USED, 1);
+		for (int w=0; w<keyWords; w++) chunk.putLong(at+KEY+8*w, aKey[w]);
+	}
+
+	protected int count(int slot, int field){
+		return chunk(slot).getInt(offset(slot)+COUNTS+4*field);
+	}
+
+	protected void addCount(int slot, int field, int amount){
+		ByteBuffer chunk = chunk(slot);
+		int at = offset(slot)+COUNTS+4*field;
+		chunk.putInt(at, chunk.getInt(at)+amount);
+	}
+
+	/**
+	 * <p> Method:  resize
+	 * <p> Description:  moves every record into new buffers of the given
+	 * 			number of slots; the old buffers are freed by the garbage
+	 * 			collector along with their ByteBuffer objects
+	 */
+	protected void resize(int slots){
+		ByteBuffer[] oldChunks = chunks;
+		int oldSlots = numSlots;
+		int oldChunkBits = chunkBits;
+
+		recordBytes = KEY + 8*keyWords;
+		chunkBits = MAX_CHUNK_BITS;
+		while ((long) recordBytes << chunkBits > Integer.MAX_VALUE) chunkBits--;
+		int perChunk = Math.min(slots, 1 << chunkBits);
+		chunks = new ByteBuffer[slots/perChunk];
+		for (int c=0; c<chunks.length; c++)
+			chunks[c] = ByteBuffer.allocateDirect(perChunk*recordBytes).order(ByteOrder.nativeOrder());
+		numSlots = slots;
+
+		long[] aKey = new long[keyWords];
+		int[] counts = new int[4];
+		for (int j=0; j<oldSlots; j++){
+			ByteBuffer from = oldChunks[j >>> oldChunkBits];
+			int at = (j & ((1 << oldChunkBits)-1))*recordBytes;
+			if (from.getInt(at+USED) == 0) continue;
+			for (int w=0; w<keyWords; w++) aKey[w] = from.getLong(at+KEY+8*w);
+			for (int f=0; f<4; f++) counts[f] = from.getInt(at+COUNTS+4*f);
+			reinsert(aKey, counts[SEEN], counts[WINS], counts[DRAWS], counts[LOSSES]);
+		}
+	}
+
+	private ByteBuffer chunk(int slot){
+		return chunks[slot >>> chunkBits];
+	}
+
+	private int offset(int slot){
+		return (slot & ((1 << chunkBits)-1))*recordBytes;
+	}
+
+
+	/**
+	 * <p> This is an internal class: a Stats whose counters are the
+	 * 		record in the current slot, so one object can stand for any board.
+	 */
+	private class View extends Stats {
+		private int slot;
+
+		private View(){
+			super(null);
+		}
+
+		public int getNumSeen(){
+			return count(slot, SEEN);
+		}
+
+		public int getNumWins(){
+			return count(slot, WINS);
+		}
+
+		public int getNumDraws(){
+			return count(slot, DRAWS);
+		}
+
+		public int getNumLosses(){
+			return count(slot, LOSSES);
+		}
+
+		public void incrementNumSeen(){
+			addCount(slot, SEEN, 1);
+		}
+
+		public void incrementNumWins(){
+			addCount(slot, WINS, 1);
+		}
+
+		public void incrementNumDraws(){
+			addCount(slot, DRAWS, 1);
+		}
+
+		public void incrementNumLosses(){
+			addCount(slot, LOSSES, 1);
+		}
+
+		public void add(int seen, int wins, int draws, int losses){
+			addCount(slot, SEEN, seen);
+			addCount(slot, WINS, wins);
+			addCount(slot, DRAWS, draws);
+			addCount(slot, LOSSES, losses);
+		}
+	}
+
+}
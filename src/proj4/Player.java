@@ -0,0 +1,38 @@
+package proj4;
+
+/**
+ * @author Rachael Birky
+ * @version 04.23.14
+ *
+ * <p> Player.java
+ * <p> This interface represents a TicTacToe player that Project4 can
+ * 		play against a RandomAI. A player only has to move; players that
+ * 		learn from their games are also told when each game starts and ends.
+ */
+public interface Player {
+
+	/**
+	 * <p> Method:  move
+	 * <p> Description:  makes one move on the given board,
+	 * 			unless the game is over
+	 * @param t - the board on which to move
+	 */
+	public void move(TicTacToe t);
+
+	/**
+	 * <p> Method:  newGame
+	 * <p> Description:  tells the player that a new game has started
+	 * @param player - the player number the player will be for the new game
+	 */
+	public default void newGame(int player){
+	}
+
+	/**
+	 * <p> Method:  endGame
+	 * <p> Description:  tells the player how the game ended
+	 * @param finalBoard - the board at the end of the game
+	 */
+	public default void endGame(TicTacToe finalBoard){
+	}
+
+}
@@ -1,13 +1,24 @@
 package proj4;
 
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import javax.management.JMException;
+
 /**
  * @author Rachael Birky
  * @version 
  * 
  * <p> Project4.java
  * <p> This class simulates TicTacToe games
- * 		between two players (random and learning AI)
- * 		and prints the statistics of the games played.
+ * 		between a random player and another Player
+ * 		(by default the learning AI) and prints the statistics
+ * 		of the games played.
  */
 public class Project4 {
 
@@ -17,7 +28,13 @@ public class Project4 {
 	private int numGames = 0;
 
 	private RandomAI randomPlayer;
+	private Player player;
+	//the player, if it is a SmartPlayer, whose table is reported
 	private SmartPlayer smartPlayer;
+	private boolean printMetrics = false;
+
+	//games between checkpoints of a saved table
+	private static final int CHECKPOINT_GAMES = 10000;
 
 	/**
 	* <p> Constructor
@@ -27,51 +44,185 @@ public class Project4 {
 		
 	}
 
+	/**
+	* <p> Method:  setPrintMetrics
+	* <p> Description: chooses whether printResults also prints
+	* 		the measurements of the smart player's table
+	* @param on - true to print the table metrics
+	*/
+	public void setPrintMetrics(boolean on){
+		printMetrics = on;
+	}
+
 	/**
 	* <p> Method:  play
-	* <p> Description: plays a random player and smart player against
-	* 		each other at tic tac toe a specified number of games 
+	* <p> Description: plays a random player and another player against
+	* 		each other at tic tac toe a specified number of games,
+	* 		the other player moving first
 	* @param aRandomPlayer - a random ai player object
-	* 		aSmartPlayer - a smart player object
+	* 		aPlayer - the player to test, e.g. a smart player
 	* 		aNumGames - the number of games to play
 	*/
-	public void play(RandomAI aRandomPlayer, SmartPlayer aSmartPlayer, int aNumGames){
+	public void play(RandomAI aRandomPlayer, Player aPlayer, int aNumGames){
 
 		numGames = aNumGames;
-		randomPlayer = aRandomPlayer;
-		smartPlayer = aSmartPlayer;
-		int smartNum = smartPlayer.getPlayerNum();
+		playGames(aRandomPlayer, aPlayer, 1, aNumGames);
+		printResults();
+	}
+
+	/**
+	* <p> Method:  playParallel
+	* <p> Description: splits a number of games between several threads.
+	* 		Each thread plays its share with its own random player, smart player
+	* 		and seed; when all are done, their counts and learned tables are
+	* 		merged into one smart player and a single report is printed.
+	* @param aNumGames - the total number of games to play
+	* 		numThreads - the number of threads to play on
+	* 		smartNum - the player number of the smart players
+	* 		seed - the seed from which each thread's seeds are drawn
+	*/
+	public void playParallel(int aNumGames, int numThreads, int smartNum, long seed)
+			throws InterruptedException, ExecutionException{
+		playParallel(aNumGames, numThreads, smartNum, seed, null);
+	}
 
+	/**
+	* <p> Method:  playParallel
+	* <p> Description: like playParallel above, but if a shared table is given,
+	* 		all the threads' smart players learn in that one table
+	* 		(which must be safe to use from many threads, e.g. a
+	* 		ConcurrentStatsTable) instead of in tables of their own.
+	* @param shared - the table for every smart player to use, or null
+	*/
+	public void playParallel(int aNumGames, int numThreads, int smartNum, long seed, StatsTable shared)
+			throws InterruptedException, ExecutionException{
+
+		Random seeds = new Random(seed);
+		ExecutorService pool = Executors.newFixedThreadPool(numThreads);
+		ArrayList<Future<Project4>> workers = new ArrayList<Future<Project4>>();
+		long start = System.nanoTime();
+
+		for (int w=0; w<numThreads; w++){
+			final int share = aNumGames/numThreads + ((w < aNumGames%numThreads) ? 1 : 0);
+			final Project4 worker = new Project4();
+			final RandomAI aRandomPlayer = new RandomAI(seeds.nextLong());
+			final SmartPlayer aSmartPlayer = (shared == null) ? new SmartPlayer(smartNum) : new SmartPlayer(smartNum, shared);
+			aSmartPlayer.setSeed(seeds.nextLong());
+			worker.numGames = share;
+
+			workers.add(pool.submit(() -> {
+				worker.playGames(aRandomPlayer, aSmartPlayer, smartNum, share);
+				return worker;
+			}));
+		}
+
+		numGames = aNumGames;
+		player = smartPlayer = (shared == null) ? new SmartPlayer(smartNum) : new SmartPlayer(smartNum, shared);
+		try{
+			for (Future<Project4> f : workers){
+				Project4 worker = f.get();
+				numSmartWins += worker.numSmartWins;
+				numRandomWins += worker.numRandomWins;
+				numDraws += worker.numDraws;
+				smartPlayer.merge(worker.smartPlayer);
+			}
+		}
+		finally{
+			pool.shutdown();
+		}
+
+		long millis = Math.max(1, (System.nanoTime()-start)/1000000);
+		System.out.println("Played "+aNumGames+" games on "+numThreads+" threads in "+millis+" ms ("+(aNumGames*1000L/millis)+" games/sec)");
+		printResults();
+	}
+
+	/**
+	* <p> Method:  playSaved
+	* <p> Description: plays a random player against a smart player whose
+	* 		table is kept in the given file. If the file already holds a table,
+	* 		the smart player picks up where it left off. The table is
+	* 		checkpointed every CHECKPOINT_GAMES games and when play ends.
+	* @param path - the file holding the smart player's table
+	* 		aNumGames - the number of games to play
+	* @throws IOException if the file cannot be used
+	*/
+	public void playSaved(String path, int aNumGames) throws IOException{
+		long start = System.nanoTime();
+		MappedStatsTable table = new MappedStatsTable(path, 5478);
+		System.out.println("Loaded "+table.numEntries()+" boards from "+path+" in "+(System.nanoTime()-start)/1000000+" ms");
+
+		RandomAI aRandomPlayer = new RandomAI();
+		SmartPlayer aSmartPlayer = new SmartPlayer(1, table);
+		numGames = aNumGames;
+		try{
+			for (int played=0; played<aNumGames; played+=CHECKPOINT_GAMES){
+				playGames(aRandomPlayer, aSmartPlayer, 1, Math.min(CHECKPOINT_GAMES, aNumGames-played));
+				table.checkpoint();
+			}
+		}
+		finally{
+			table.close();
+		}
+		printResults();
+	}
+
+	/**
+	* <p> Method:  playStates
+	* <p> Description: plays a random player against a smart player whose
+	* 		table is a StateSpaceTable, loaded here with every reachable board,
+	* 		so nothing is inserted into it or resized during play
+	* @param aNumGames - the number of games to play
+	*/
+	public void playStates(int aNumGames){
+		long start = System.nanoTime();
+		StateSpaceTable table = new StateSpaceTable();
+		System.out.println("Loaded "+table.numEntries()+" boards in "+(System.nanoTime()-start)/1000000+" ms");
+		play(new RandomAI(), new SmartPlayer(1, table), aNumGames);
+	}
+
+	/**
+	* <p> Method:  playGames
+	* <p> Description: plays the given random player and other player
+	* 		against each other, adding the outcomes to this driver's counts
+	* 		without printing anything
+	* @param aRandomPlayer - a random ai player object
+	* 		aPlayer - the player to test, e.g. a smart player
+	* 		aPlayerNum - the player number of aPlayer, 1 to move first
+	* 		aNumGames - the number of games to play
+	*/
+	void playGames(RandomAI aRandomPlayer, Player aPlayer, int aPlayerNum, int aNumGames){
+		randomPlayer = aRandomPlayer;
+		player = aPlayer;
+		smartPlayer = (aPlayer instanceof SmartPlayer) ? (SmartPlayer) aPlayer : null;
 
 		for (int i =0; i<aNumGames; i++){
 			TicTacToe theBoard = new TicTacToe();
-			smartPlayer.newGame(smartNum);
+			player.newGame(aPlayerNum);
 
-			//smart plays first
-			if (smartPlayer.getPlayerNum() == 1){
+			//the player plays first
+			if (aPlayerNum == 1){
 				while(!theBoard.isOver()){
-					smartPlayer.move(theBoard);
+					player.move(theBoard);
 					randomPlayer.move(theBoard);
 				}
 			}
 
 			//random plays first
-			if(smartPlayer.getPlayerNum() == 2){
+			if(aPlayerNum == 2){
 				while(!theBoard.isOver()){
 					randomPlayer.move(theBoard);
-					smartPlayer.move(theBoard);
+					player.move(theBoard);
 				}
 			}
 
-			smartPlayer.endGame(theBoard);
+			player.endGame(theBoard);
 			
 			int winner = theBoard.getWinner();
-			if (winner == smartNum) {numSmartWins++;}
+			if (winner == aPlayerNum) {numSmartWins++;}
 			else if (winner == 0) {numDraws++;}
 			else {numRandomWins++;}
 
 		}
-		printResults();
 	}
 
 	/**
@@ -80,23 +231,25 @@ public class Project4 {
 	*/
 	public void printResults(){
 		
-		int numSmartCollisions = smartPlayer.getNumCollisions();
-		int numSmartEntries = smartPlayer.getNumEntries();
-		int numSmartSlots = smartPlayer.getNumSlots();
-		
 		int percentSmartWins = (int) (((double)numSmartWins/numGames)*100);
 		int percentRandomWins = (int) (((double)numRandomWins/numGames)*100);
-		
-		int percentFull = (int) ((double)(numSmartEntries)/numSmartSlots*100);
 
 		System.out.println("FINAL REPORT:");
-		System.out.println("The number of slots is: "+numSmartSlots);
-		System.out.println("The number of entries is: "+numSmartEntries);
-		System.out.println("The % full is: "+percentFull);
-		System.out.println("The number of collisions is: "+numSmartCollisions);
+		if (smartPlayer != null){
+			int numSmartCollisions = smartPlayer.getNumCollisions();
+			int numSmartEntries = smartPlayer.getNumEntries();
+			int numSmartSlots = smartPlayer.getNumSlots();
+			int percentFull = (int) ((double)(numSmartEntries)/numSmartSlots*100);
+
+			System.out.println("The number of slots is: "+numSmartSlots);
+			System.out.println("The number of entries is: "+numSmartEntries);
+			System.out.println("The % full is: "+percentFull);
+			System.out.println("The number of collisions is: "+numSmartCollisions);
+		}
 
-		System.out.println("Smart Player has won " +numSmartWins+ " times, which is "+percentSmartWins+" percent");
+		System.out.println(player+" has won " +numSmartWins+ " times, which is "+percentSmartWins+" percent");
 		System.out.println("Random AI has won " +numRandomWins+ " times, which is "+percentRandomWins+" percent");
+		if (smartPlayer == null) return;
 
 		TicTacToe favFirstMove = smartPlayer.favFirstMove();
 		int numFavWon = smartPlayer.numFavWon();
@@ -104,19 +257,49 @@ public class Project4 {
 		int percentFavWon = (int) ((double)(numFavWon)/numFavPlayed*100);
 		System.out.println("My favorite first move is: \n\n"+favFirstMove);
 		System.out.println("Won "+numFavWon+" out of "+numFavPlayed+", which is "+percentFavWon+"%");
+
+		if (printMetrics) smartPlayer.printMetrics();
 	}
 
 	/**
 	* <p> Method:  main
 	* <p> Description: runs the driver by creating a random ai and a smart player ai,
 	* 		then passing them to the play function
-	* @param args - the command line arguments
+	* @param args - the command line arguments:
+	* 		[number of games (default 1000)] [number of threads (default 1)]
+	* 		[shared, to have all threads learn in one concurrent table,
+	* 		states, to learn in a StateSpaceTable of every reachable board
+	* 		loaded at startup, or a file in which to save the table, for one thread]
+	* 		Run with -Dproj4.metrics=true to also print the table metrics.
+	* 		With one thread, the table's metrics are published through JMX.
 	*/
-	public static void main(String[] args){
+	public static void main(String[] args) throws InterruptedException, ExecutionException, IOException, JMException{
+		int numGames = (args.length > 0) ? Integer.parseInt(args[0]) : 1000;
+		int numThreads = (args.length > 1) ? Integer.parseInt(args[1]) : 1;
+		boolean shared = (args.length > 2) && args[2].equals("shared");
+		boolean states = (args.length > 2) && args[2].equals("states");
+
 		Project4 test = new Project4();
-		RandomAI player1 = new RandomAI();
-		SmartPlayer player2 = new SmartPlayer(1);
-		test.play(player1, player2, 1000);
+		test.setPrintMetrics(Boolean.getBoolean("proj4.metrics"));
+		if (shared){
+			test.playParallel(numGames, numThreads, 1, System.nanoTime(), new ConcurrentStatsTable(283));
+		}
+		else if (states){
+			test.playStates(numGames);
+		}
+		else if (args.length > 2){
+			test.playSaved(args[2], numGames);
+		}
+		else if (numThreads > 1){
+			test.playParallel(numGames, numThreads, 1, System.nanoTime());
+		}
+		else{
+			RandomAI player1 = new RandomAI();
+			HashTable<TicTacToe, Stats> table = new HashTable<TicTacToe, Stats>(283);
+			HashTableMetrics.register("SmartPlayer", table);
+			SmartPlayer player2 = new SmartPlayer(1, new HashStatsTable(table));
+			test.play(player1, player2, numGames);
+		}
 	}
 
 }
@@ -1,7 +1,7 @@
 
 package proj4;
 
-import java.util.Random;
+import java.util.SplittableRandom;
 
 /**
  * @author Rachael Birky
@@ -11,9 +11,9 @@ import java.util.Random;
  * <p> This class represents a random TicTacToe player.
  * 		If it can, it will make some legal move on the board it is given. 
  */
-public class RandomAI {
+public class RandomAI implements Player {
 
-	Random generator = new Random();
+	SplittableRandom generator = new SplittableRandom();
 
 	/**
 	* <p> Constructor
@@ -24,9 +24,20 @@ public class RandomAI {
 
 	}
 
+	/**
+	* <p> Constructor
+	* <p> Description: Creates a new RandomAI object whose random generator
+	* 		starts from the given seed, so its games can be repeated
+	* @param seed - the seed for the random generator
+	*/
+	public RandomAI(long seed){
+		generator = new SplittableRandom(seed);
+	}
+
 	/**
 	* <p> Method:  move
-	* <p> Description:  Given a TicTacToe board, makes a random move.
+	* <p> Description:  Given a TicTacToe board, makes a random move,
+	* 		choosing uniformly among the empty cells with a single draw.
 	* 		If the game is over or the board is full, it does nothing.
 	* @param t - the TicTacToe board on which to play
 	* 
@@ -35,15 +46,8 @@ public class RandomAI {
 
 		if (t.isFull() || t.isOver()) return;
 
-		int row, col;
-
-		do{
-			row = generator.nextInt(3);
-			col = generator.nextInt(3);
-		} while (!t.move(row, col));
-
-		//once true; move there
-		t.move(row,  col);
+		int cell = t.emptyCell(generator.nextInt(t.numEmpty()));
+		t.move(cell / t.getCols(), cell % t.getCols());
 	}
 
 	/* (non-Javadoc)
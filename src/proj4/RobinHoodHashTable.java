@@ -0,0 +1,380 @@
+package proj4;
+
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+
+/**
+ * @author Rachael Birky
+ * @version 04.23.14
+ * 
+ * <p> RobinHoodHashTable.java
+ * <p> This class represents a generic hash table with the same methods as
+ * 		HashTable, but using open addressing instead of separate chaining.
+ * 		Keys, values and hash codes are kept in flat parallel arrays, so an
+ * 		entry costs no objects of its own and a lookup reads neighbouring
+ * 		slots instead of following list nodes.
+ * <p> Collisions are handled with Robin Hood linear probing: a key being
+ * 		inserted takes the slot of any key that is closer to its own home
+ * 		slot, so probe lengths stay short and even, and a search can stop
+ * 		as soon as it passes where its key would have been. Removal shifts
+ * 		the following keys back instead of leaving tombstones.
+ * <p> The table has a power of two number of slots and doubles once it
+ * 		is fuller than its maximum load factor.
+ *
+ * @param <K, V> this class is generic
+ */
+public class RobinHoodHashTable<K, V>{
+
+	private final static int INITIAL_SIZE = 32;
+	private final static double DEFAULT_LOAD_FACTOR = 0.8;
+
+	//hashes[i] == 0 marks an empty slot, so stored hashes are never 0
+	private int[] hashes;
+	private Object[] keys;
+	private Object[] values;
+
+	private int mask;
+	private double maxLoadFactor;
+	private int maxEntries;
+	private int numEntries=0;
+	private int numCollisions=0;
+
+	/**
+	 * <p> Constructor
+	 * <p> Description:  Calls the other constructor,
+	 * 		passing the default table size and load factor
+	 */
+	public RobinHoodHashTable(){
+		this(INITIAL_SIZE, DEFAULT_LOAD_FACTOR);
+	}
+
+	/**
+	 * <p> Constructor
+	 * <p> Description:  Creates a new table for about the given number of
+	 * 		entries, with the default maximum load factor
+	 * @param aSize - the given table size
+	 */
+	public RobinHoodHashTable(int aSize){
+		this(aSize, DEFAULT_LOAD_FACTOR);
+	}
+
+	/**
+	 * <p> Constructor
+	 * <p> Description:  Creates a new table with the next power of two
+	 * 		number of slots at least the given size
+	 * @param aSize - the given table size
+	 * @param aMaxLoadFactor - the fraction of slots that may be used
+	 * 		before the table doubles, above 0 and below 1
+	 */
+	public RobinHoodHashTable(int aSize, double aMaxLoadFactor){
+		if (!(aMaxLoadFactor > 0 && aMaxLoadFactor < 1))
+			throw new IllegalArgumentException("load factor must be between 0 and 1: "+aMaxLoadFactor);
+		maxLoadFactor = aMaxLoadFactor;
+		int slots = (aSize <= 2) ? 2 : Integer.highestOneBit(aSize-1) << 1;
+		newArrays(slots);
+	}
+
+	/**
+	 * <p> Method:  get
+	 * <p> Description:  returns the value associated with the given key
+	 * @param key
+	 * @return null if the key maps to nothing, else the associated value
+	 */
+	public V get(K key){
+		int slot = indexOf(key, hash(key));
+		return (slot < 0) ? null : value(slot);
+	}
+
+	/**
+	 * <p> Method:  getOrDefault
+	 * @param key - the key for which to search
+	 * @param defaultValue - the value to return if the key is not in the table
+	 * @return the associated value, or defaultValue
+	 */
+	public V getOrDefault(K key, V defaultValue){
+		int slot = indexOf(key, hash(key));
+		return (slot < 0) ? defaultValue : value(slot);
+	}
+
+	/**
+	 * <p> Method:  containsKey
+	 * <p> Description:  determines whether the given key is
+	 * 			already in the hash table
+	 * @param key - the key for which to search
+	 * @return true if the key is already in the table, false otherwise
+	 */
+	public boolean containsKey(K key){
+		return indexOf(key, hash(key)) >= 0;
+	}
+
+	/**
+	 * <p> Method:  put
+	 * <p> Description:  puts the given key-value pair into the hash table,
+	 * 			unless the key is already there (like HashTable.put)
+	 * @param key - the key to add to the table
+	 * @param  value - a corresponding value to add to the table
+	 */
+	public void put(K key, V value){
+		putIfAbsent(key, value);
+	}
+
+	/**
+	 * <p> Method:  putIfAbsent
+	 * @param key - the key to add to the table
+	 * @param value - a corresponding value to add to the table
+	 * @return the value already associated with the key, or null if
+	 * 			the given pair was added
+	 */
+	public V putIfAbsent(K key, V value){
+		int h = hash(key);
+		int slot = indexOf(key, h);
+		if (slot >= 0) return value(slot);
+
+		insert(key, value, h);
+		return null;
+	}
+
+	/**
+	 * <p> Method:  computeIfAbsent
+	 * <p> Description:  returns the value associated with the given key,
+	 * 			first adding the value made by the given function if there is none
+	 * @param key - the key for which to search
+	 * @param mappingFunction - makes the value for a missing key
+	 * @return the existing or newly added value
+	 */
+	public V computeIfAbsent(K key, Function<? super K, ? extends V> mappingFunction){
+		return computeIfAbsent(key, UnaryOperator.identity(), mappingFunction);
+	}
+
+	/**
+	 * <p> Method:  computeIfAbsent
+	 * <p> Description:  like computeIfAbsent, but a missing key is stored
+	 * 			as the copy made by the given function (like HashTable),
+	 * 			still with a single search for the key
+	 * @param key - the key for which to search
+	 * @param keyCopier - makes the copy of a missing key to store
+	 * @param mappingFunction - makes the value for the stored copy
+	 * @return the existing or newly added value
+	 */
+	public V computeIfAbsent(K key, UnaryOperator<K> keyCopier, Function<? super K, ? extends V> mappingFunction){
+		int h = hash(key);
+		int slot = indexOf(key, h);
+		if (slot >= 0) return value(slot);
+
+		K stored = keyCopier.apply(key);
+		V value = mappingFunction.apply(stored);
+		if (value != null) insert(stored, value, h);
+		return value;
+	}
+
+	/**
+	 * <p> Method:  remove
+	 * <p> Description:  removes the given key and its value from the table,
+	 * 			moving each following key of the same run back one slot
+	 * @param key - the key to remove
+	 * @return the value that was associated with the key, or null if none
+	 */
+	public V remove(K key){
+		int slot = indexOf(key, hash(key));
+		if (slot < 0) return null;
+		V removed = value(slot);
+
+		//backward shift: stop at an empty slot or a key already at home
+		int next = (slot+1) & mask;
+		while (hashes[next] != 0 && distance(next) > 0){
+			hashes[slot] = hashes[next];
+			keys[slot] = keys[next];
+			values[slot] = values[next];
+			slot = next;
+			next = (next+1) & mask;
+		}
+		hashes[slot] = 0;
+		keys[slot] = null;
+		values[slot] = null;
+		numEntries--;
+		return removed;
+	}
+
+	/**
+	 * <p> Method:  numSlots
+	 * @return the number of slots
+	 */
+	public int numSlots(){
+		return hashes.length;
+	}
+
+	/**
+	 * <p> Method:  numEntries
+	 * @return the number of entries
+	 */
+	public int numEntries(){
+		return numEntries;
+	}
+
+	/**
+	 * <p> Method:  numCollisions
+	 * <p> Description:  gives the number of inserts that found their home
+	 * 		slot already taken, counted since the last resize
+	 * @return numCollisions - the number of collisions
+	 */
+	public int numCollisions(){
+		return numCollisions;
+	}
+
+	/**
+	 * <p> Method:  getLoadFactor
+	 * @return numEntries / numSlots
+	 */
+	public double getLoadFactor(){
+		return (double)numEntries/hashes.length;
+	}
+
+	/**
+	 * <p> Method:  probeLengthHistogram
+	 * <p> Description:  counts the entries by how far they are from their home slot
+	 * @param maxLength - the longest distance to count separately
+	 * @return an array whose element i is the number of entries i slots from
+	 * 			home; the last element also counts all that are further
+	 */
+	public int[] probeLengthHistogram(int maxLength){
+		int[] histogram = new int[maxLength+1];
+		for (int i=0; i<hashes.length; i++)
+			if (hashes[i] != 0) histogram[Math.min(maxLength, distance(i))]++;
+		return histogram;
+	}
+
+	/**
+	 * <p> Method: forEach  
+	 * <p> Description:  passes every key-value pair in the table to the given action
+	 * @param action - the action to perform on each pair
+	 */
+	@SuppressWarnings("unchecked")
+	public void forEach(BiConsumer<? super K, ? super V> action){
+		for (int i=0; i<hashes.length; i++)
+			if (hashes[i] != 0) action.accept((K) keys[i], (V) values[i]);
+	}
+
+	/**
+	 * <p> Method: printHashTable  
+	 * <p> Description:  prints the hash table to the console, one slot per line
+	 */
+	public void printHashTable(){
+		for (int i=0; i<hashes.length; i++)
+			System.out.println((hashes[i] == 0) ? "[]" : "["+keys[i]+":"+values[i]+"]");
+	}
+
+	/**
+	 * <p> Method:  indexOf
+	 * <p> Description:  an internal method used to find the slot of the given key.
+	 * 			The search stops at an empty slot, or at a key closer to its
+	 * 			home than the searched key would be, since the key would have
+	 * 			taken that slot when it was inserted.
+	 * @param key - the key for which to search
+	 * @param h - the key's hash
+	 * @return the key's slot, or -1 if it is not in the table
+	 */
+	private int indexOf(Object key, int h){
+		int slot = h & mask;
+		for (int dist=0; ; dist++){
+			int stored = hashes[slot];
+			if (stored == 0 || distance(slot) < dist) return -1;
+			if (stored == h && keys[slot].equals(key)) return slot;
+			slot = (slot+1) & mask;
+		}
+	}
+
+	/**
+	 * <p> Method:  insert
+	 * <p> Description:  an internal method used to add a pair whose key
+	 * 			is known not to be in the table. Walking from the key's home
+	 * 			slot, whenever the carried pair is further from home than the
+	 * 			pair in the slot, they swap and the displaced pair is carried on.
+	 * @param key - the key to add to the table
+	 * @param value - a corresponding value to add to the table
+	 * @param h - the key's hash
+	 */
+	private void insert(Object key, Object value, int h){
+		if (numEntries >= maxEntries) enlargeTable();
+
+		int slot = h & mask;
+		if (hashes[slot] != 0) numCollisions++;
+		for (int dist=0; ; dist++){
+			if (hashes[slot] == 0){
+				hashes[slot] = h;
+				keys[slot] = key;
+				values[slot] = value;
+				numEntries++;
+				return;
+			}
+			int slotDist = distance(slot);
+			if (slotDist < dist){
+				int swapHash = hashes[slot];
+				Object swapKey = keys[slot];
+				Object swapValue = values[slot];
+				hashes[slot] = h;
+				keys[slot] = key;
+				values[slot] = value;
+				h = swapHash;
+				key = swapKey;
+				value = swapValue;
+				dist = slotDist;
+			}
+			slot = (slot+1) & mask;
+		}
+	}
+
+	/**
+	* <p> Method:  enlargeTable
+	* <p> Description:  doubles the number of slots and reinserts every pair
+	*/
+	private void enlargeTable(){
+		int[] oldHashes = hashes;
+		Object[] oldKeys = keys;
+		Object[] oldValues = values;
+
+		newArrays(2*oldHashes.length);
+		numEntries = 0;
+		numCollisions = 0;
+		for (int i=0; i<oldHashes.length; i++)
+			if (oldHashes[i] != 0) insert(oldKeys[i], oldValues[i], oldHashes[i]);
+	}
+
+	/**
+	* <p> Method:  newArrays
+	* <p> Description:  replaces the slots with the given number of empty ones
+	* @param slots - the number of slots, a power of two
+	*/
+	private void newArrays(int slots){
+		hashes = new int[slots];
+		keys = new Object[slots];
+		values = new Object[slots];
+		mask = slots-1;
+		maxEntries = Math.min(slots-1, Math.max(1, (int) (slots*maxLoadFactor)));
+	}
+
+	/**
+	* <p> Method:  distance
+	* @param slot - an occupied slot
+	* @return how many slots past its home slot the slot's key is
+	*/
+	private int distance(int slot){
+		return (slot - (hashes[slot] & mask)) & mask;
+	}
+
+	/**
+	* <p> Method:  hash
+	* @param key - a key
+	* @return the key's mixed hash code, never 0
+	*/
+	private static int hash(Object key){
+		int h = HashTable.mix(key.hashCode());
+		return (h == 0) ? 1 : h;
+	}
+
+	@SuppressWarnings("unchecked")
+	private V value(int slot){
+		return (V) values[slot];
+	}
+
+}
@@ -0,0 +1,132 @@
+package proj4;
+
+/**
+ * @author Rachael Birky
+ * @version 04.23.14
+ * 
+ * <p> RobinHoodStatsTable.java
+ * <p> This class is a StatsTable that keeps one Stats object per board
+ * 		in an open addressing RobinHoodHashTable, for a SmartPlayer to use
+ * 		in place of the default HashStatsTable.
+ */
+public class RobinHoodStatsTable implements StatsTable {
+
+	private RobinHoodHashTable<TicTacToe, Stats> boards;
+
+	/**
+	 * <p> Constructor
+	 * <p> Description:  creates a new table for about the given number of boards
+	 * @param aSize - the initial hash table size
+	 */
+	public RobinHoodStatsTable(int aSize){
+		boards = new RobinHoodHashTable<TicTacToe, Stats>(aSize);
+	}
+
+	/**
+	 * <p> Constructor
+	 * <p> Description:  creates a new table for about the given number of boards
+	 * @param aSize - the initial hash table size
+	 * @param aMaxLoadFactor - the fraction of slots that may be used before it grows
+	 */
+	public RobinHoodStatsTable(int aSize, double aMaxLoadFactor){
+		boards = new RobinHoodHashTable<TicTacToe, Stats>(aSize, aMaxLoadFactor);
+	}
+
+	/**
+	 * <p> Method:  getTable
+	 * @return the hash table of board statistics behind this table
+	 */
+	public RobinHoodHashTable<TicTacToe, Stats> getTable(){
+		return boards;
+	}
+
+	public boolean containsKey(TicTacToe t){
+		return boards.containsKey(t);
+	}
+
+	public void add(TicTacToe t){
+		getStats(t);
+	}
+
+	public int getPercentWin(TicTacToe t){
+		Stats s = boards.get(t);
+		return (s == null) ? 100 : s.getPercentWin();
+	}
+
+	public int addAndGetPercentWin(TicTacToe t){
+		return getStats(t).getPercentWin();
+	}
+
+	public int getNumSeen(TicTacToe t){
+		Stats s = boards.get(t);
+		return (s == null) ? 0 : s.getNumSeen();
+	}
+
+	public int getNumWins(TicTacToe t){
+		Stats s = boards.get(t);
+		return (s == null) ? 0 : s.getNumWins();
+	}
+
+	public int getNumDraws(TicTacToe t){
+		Stats s = boards.get(t);
+		return (s == null) ? 0 : s.getNumDraws();
+	}
+
+	public int getNumLosses(TicTacToe t){
+		Stats s = boards.get(t);
+		return (s == null) ? 0 : s.getNumLosses();
+	}
+
+	public void incrementNumSeen(TicTacToe t){
+		getStats(t).incrementNumSeen();
+	}
+
+	public void incrementNumWins(TicTacToe t){
+		getStats(t).incrementNumWins();
+	}
+
+	public void incrementNumDraws(TicTacToe t){
+		getStats(t).incrementNumDraws();
+	}
+
+	public void incrementNumLosses(TicTacToe t){
+		getStats(t).incrementNumLosses();
+	}
+
+	public void addStats(TicTacToe t, int seen, int wins, int draws, int losses){
+		getStats(t).add(seen, wins, draws, losses);
+	}
+
+	public void forEach(Visitor visitor){
+		boards.forEach((t, s) -> visitor.visit(t, s.getNumSeen(), s.getNumWins(), s.getNumDraws(), s.getNumLosses()));
+	}
+
+	public int numSlots(){
+		return boards.numSlots();
+	}
+
+	public int numEntries(){
+		return boards.numEntries();
+	}
+
+	public int numCollisions(){
+		return boards.numCollisions();
+	}
+
+	public void printHashTable(){
+		boards.printHashTable();
+	}
+
+	/**
+	 * <p> Method:  getStats
+	 * <p> Description:  returns the statistics of the given board,
+	 * 			adding a copy of the board first if it is not in the table,
+	 * 			with a single search for it either way
+	 * @param t - the board to access
+	 * @return the board's statistics
+	 */
+	private Stats getStats(TicTacToe t){
+		return boards.computeIfAbsent(t, TicTacToe::new, Stats::new);
+	}
+
+}
@@ -0,0 +1,142 @@
+package proj4;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+
+/**
+ * @author Rachael Birky
+ * @version 04.23.14
+ * 
+ * <p> Simulator.java
+ * <p> This class is a headless driver that plays a random player
+ * 		against a smart player and writes one record per game to a file,
+ * 		as it goes, for learning curves to be analyzed offline.
+ * 		Nothing is kept per game, so the memory used does not grow
+ * 		with the number of games.
+ * <p> Each record holds the game number, the winner ("smart", "random"
+ * 		or "draw"), the cells played in order (numbered row by row from 0),
+ * 		the number of moves and the smart player's win rate so far.
+ * 		A file ending in .csv gets comma separated values with a header
+ * 		line; any other file gets one JSON object per line.
+ */
+public class Simulator {
+
+	private static final String USAGE =
+			"usage: Simulator <number of games> <seed> <smart|random, the side that plays first> <output file (.csv or .jsonl)>";
+
+	private final boolean csv;
+	private final Writer out;
+	private final StringBuilder line = new StringBuilder(64);
+
+	private long numSmartWins = 0;
+
+	/**
+	* <p> Constructor
+	* <p> Description: creates a simulator that writes to the given writer
+	* @param anOut - where to write the records
+	* 		isCsv - true to write CSV, false to write JSON lines
+	*/
+	public Simulator(Writer anOut, boolean isCsv){
+		out = anOut;
+		csv = isCsv;
+	}
+
+	/**
+	* <p> Method:  run
+	* <p> Description: plays the given number of games, writing a record for each
+	* @param numGames - the number of games to play
+	* 		seed - the seed for both players
+	* 		smartFirst - true if the smart player moves first
+	* @throws IOException if a record cannot be written
+	*/
+	public void run(long numGames, long seed, boolean smartFirst) throws IOException{
+		RandomAI randomPlayer = new RandomAI(seed);
+		SmartPlayer smartPlayer = new SmartPlayer(smartFirst ? 1 : 2);
+		smartPlayer.setSeed(seed+1);
+		int smartNum = smartPlayer.getPlayerNum();
+
+		//one board is cleared and reused for every game
+		TicTacToe empty = new TicTacToe();
+		TicTacToe board = new TicTacToe();
+		int[] moves = new int[board.getNumCells()];
+
+		if (csv) out.write("game,winner,moves,numMoves,smartWinRate\n");
+
+		for (long game=1; game<=numGames; game++){
+			board.set(empty);
+			smartPlayer.newGame(smartNum);
+
+			int numMoves = 0;
+			boolean smartTurn = smartFirst;
+			while (!board.isOver()){
+				if (smartTurn) smartPlayer.move(board);
+				else randomPlayer.move(board);
+				moves[numMoves++] = board.getLastCell();
+				smartTurn = !smartTurn;
+			}
+			smartPlayer.endGame(board);
+
+			int winner = board.getWinner();
+			if (winner == smartNum) numSmartWins++;
+			String winnerName = (winner == 0) ? "draw" : (winner == smartNum) ? "smart" : "random";
+			writeRecord(game, winnerName, moves, numMoves, (double)numSmartWins/game);
+		}
+		out.flush();
+	}
+
+	/**
+	* <p> Method:  writeRecord
+	* <p> Description: writes the record of one game
+	* @param game - the game number
+	* 		winner - the name of the winner
+	* 		moves, numMoves - the cells played, in order
+	* 		winRate - the smart player's win rate so far
+	* @throws IOException if the record cannot be written
+	*/
+	private void writeRecord(long game, String winner, int[] moves, int numMoves, double winRate) throws IOException{
+		line.setLength(0);
+		if (csv){
+			line.append(game).append(',').append(winner).append(',');
+			for (int i=0; i<numMoves; i++) line.append((i == 0) ? "" : " ").append(moves[i]);
+			line.append(',').append(numMoves).append(',').append(winRate);
+		}
+		else{
+			line.append("{\"game\":").append(game)
+				.append(",\"winner\":\"").append(winner).append("\",\"moves\":[");
+			for (int i=0; i<numMoves; i++) line.append((i == 0) ? "" : ",").append(moves[i]);
+			line.append("],\"numMoves\":").append(numMoves)
+				.append(",\"smartWinRate\":").append(winRate).append('}');
+		}
+		line.append('\n');
+		out.append(line);
+	}
+
+	/**
+	* <p> Method:  main
+	* <p> Description: runs the simulator from the command line
+	* @param args - the number of games, the seed, which side plays
+	* 		first (smart or random) and the output file
+	* @throws IOException if the output file cannot be written
+	*/
+	public static void main(String[] args) throws IOException{
+		if (args.length != 4 || !(args[2].equals("smart") || args[2].equals("random"))){
+			System.err.println(USAGE);
+			System.exit(1);
+		}
+		long numGames = Long.parseLong(args[0]);
+		long seed = Long.parseLong(args[1]);
+		boolean smartFirst = args[2].equals("smart");
+		String path = args[3];
+
+		long start = System.nanoTime();
+		try (Writer out = Files.newBufferedWriter(Paths.get(path), StandardCharsets.UTF_8)){
+			new Simulator(out, path.endsWith(".csv")).run(numGames, seed, smartFirst);
+		}
+		long millis = Math.max(1, (System.nanoTime()-start)/1000000);
+		System.out.println("Wrote "+numGames+" games to "+path+" in "+millis+" ms ("+(numGames*1000/millis)+" games/sec)");
+	}
+
+}
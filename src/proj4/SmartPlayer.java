@@ -13,7 +13,7 @@ import java.util.Random;
  * 		and tries to choose the next move that results in the most wins,
  * 		least losses, or random.
  */
-public class SmartPlayer {
+public class SmartPlayer implements Player {
 
 	boolean debug = false;
 	Random generator = new Random();
@@ -22,7 +22,16 @@ public class SmartPlayer {
 	//stores keys
 	private ArrayList<TicTacToe> thisGame = new ArrayList<TicTacToe>();
 	public ArrayList<TicTacToe> firstMoves = new ArrayList<TicTacToe>();
-	private HashTable<TicTacToe, Stats> boards = new HashTable<TicTacToe, Stats>(283);
+	private StatsTable boards;
+
+	//when true, rotations and reflections of a board share one entry
+	private boolean useSymmetry = false;
+
+	//reused by move: the successor being scored, and the best cells
+	private TicTacToe scratch = new TicTacToe();
+	private int[] tiedCells = new int[9];
+	//boards reused from game to game to hold thisGame
+	private ArrayList<TicTacToe> spareBoards = new ArrayList<TicTacToe>();
 
 
 	/**
@@ -30,119 +39,116 @@ public class SmartPlayer {
 	* <p> Description:  creates a new smart player object with a given player number
 	*/
 	public SmartPlayer(int playerNum){
-		PLAYER_NUM = playerNum;
+		this(playerNum, new HashStatsTable(283));
 	}
 
 	/**
-	* <p> Method:  getNumSuccessors
-	* <p> Description:  calculates the number of successors a board has,
-	* 		determined by the number of empty spaces
-	* @param t - the board to analyze
-	* @return the number of empty spaces/possible successors
-	*/
-	private int getNumSuccessors(TicTacToe t){
-		return t.numEmpty();
-	}
-	
-	/**
-	* <p> Method:  getSuccessors
-	* <p> Description:  generates each successor to the given board
-	* 		(boards that result from one more move)
-	* @param t - the board to analyze
-	* @return an array of successor boards
+	* <p> Constructor
+	* <p> Description:  creates a new smart player object with a given player number
+	* 		that remembers boards in the given table
+	* @param playerNum - the player number
+	* @param aTable - the table in which to store board statistics
 	*/
-	private TicTacToe[] getSuccessors(TicTacToe t){
-		TicTacToe tCopy1 = new TicTacToe(t);
-		TicTacToe[] successors = new TicTacToe[9];
-
-		int index=0;
-		for(int i=0; i<tCopy1.length; i++){
-			for(int j=0; j<tCopy1.length; j++){
-				if (tCopy1.playerAt(i, j) == 0){
-					tCopy1.move(i,j);
-					TicTacToe tCopy2 = new TicTacToe(t);
-					tCopy2.move(i, j);
-					successors[index] = tCopy2;
-					index++;
-				}
-			}
-		}
-		return successors;
+	public SmartPlayer(int playerNum, StatsTable aTable){
+		PLAYER_NUM = playerNum;
+		boards = aTable;
 	}
 
 	/**
 	* <p> Method:  move
 	* <p> Description:  makes  a move on the given board using
-	* 		past experience
+	* 		past experience. Each successor (the board after one more move)
+	* 		is built in turn on one reused scratch board and scored by its
+	* 		cell, so choosing a move allocates almost nothing.
 	* @param t - the board on which to move
 	* 
 	*/
 	public void move(TicTacToe t){
 
-		TicTacToe tCopy = new TicTacToe(t);
-
-		int numSuccessors = getNumSuccessors(tCopy);
-		TicTacToe[] successors = getSuccessors(tCopy);
-
-		boolean isFirstMove = (numSuccessors > 7);
+		int numSuccessors = t.numEmpty();
+		boolean isFirstMove = (numSuccessors >= t.getNumCells()-1);
 		
 		//if zero successors, game is over, so skip all this!
 		if(numSuccessors>0){
-			TicTacToe nextMove = null;
+			if (tiedCells.length < t.getNumCells()) tiedCells = new int[t.getNumCells()];
+
 			int maxScore = 0;
-			ArrayList<TicTacToe> tiedBoards = new ArrayList<TicTacToe>();
+			int numTied = 0;
 
-			//store successors in hash table to access statistics later
-			for(int i=0; i<numSuccessors; i++){
-				boards.put(successors[i], new Stats(successors[i]));
+			//score each empty cell by the successor it makes, keeping the
+			//cells with the best score so far; the table adds each
+			//successor it has not seen (copying the scratch board)
+			for(int i=0; i<t.getRows(); i++){
+				for(int j=0; j<t.getCols(); j++){
+					if (t.playerAt(i, j) != 0) continue;
 
-				//compare to current max score
-				if (boards.get(successors[i]).getPercentWin() > maxScore){
-					maxScore = boards.get(successors[i]).getPercentWin();
-					nextMove = successors[i];
-				}
-			}
-			
-			//put all with same score into an array
-			for(int i=0; i<numSuccessors; i++){
-				if(boards.get(successors[i]).getPercentWin() == maxScore)
-					tiedBoards.add(successors[i]);
-			}
+					scratch.set(t);
+					scratch.move(i, j);
+					int score = boards.addAndGetPercentWin(key(scratch));
 
-			//break tie if need be
-			if(tiedBoards.size()>1){
-				nextMove = tiedBoards.get(generator.nextInt(tiedBoards.size()));
-			}
-			else if (tiedBoards.size()==1){
-				nextMove = tiedBoards.get(0);
-			}
-			
-			//calculate the spot to move by finding difference, and actually move...
-			int row=0; int col=0;
-			for (int i=0; i<nextMove.length; i++){
-				for (int j=0; j<nextMove.length; j++){
-					if (nextMove.playerAt(i, j) != t.playerAt(i, j))
-					{row = i; col = j;}
+					if (score > maxScore){
+						maxScore = score;
+						numTied = 0;
+					}
+					if (score == maxScore) tiedCells[numTied++] = i*t.getCols() + j;
 				}
 			}
-			t.move(row, col);
+
+			//break tie if need be, and move there
+			int cell = tiedCells[(numTied>1) ? generator.nextInt(numTied) : 0];
+			t.move(cell / t.getCols(), cell % t.getCols());
 
 			//store resulting board in thisGame and hashTable
-			TicTacToe result = new TicTacToe(t);
+			TicTacToe result = key(spareBoard(t));
 			thisGame.add(result);
 			
-			if(isFirstMove) if(!firstMoves.contains(result)) firstMoves.add(result);
+			if(isFirstMove) if(!firstMoves.contains(result)) firstMoves.add(new TicTacToe(result));
 			
-			if(boards.containsKey(result)){
-				if (debug) System.out.println("FOUND!");
-				boards.get(result).incrementNumSeen();
-			}
-			else{
-				if (debug) System.out.println("Not Found :(!");
-				boards.put(result, new Stats(result));
-				boards.get(result).incrementNumSeen();
+			if (debug) System.out.println(boards.containsKey(result) ? "FOUND!" : "Not Found :(!");
+			boards.incrementNumSeen(result);
+		}
+	}
+
+	/**
+	* <p> Method:  learnFrom
+	* <p> Description:  learns from a game played elsewhere (e.g. by
+	* 		BatchSimulator) as if this player had made its own moves in it:
+	* 		each board after one of this player's moves is counted as seen,
+	* 		then endGame scores them by the outcome. The game is the
+	* 		classic 3x3 one; see the method below for other boards.
+	* @param cells - the cells played, in order, each row*3+col
+	* @param numMoves - the number of moves in the game
+	*/
+	public void learnFrom(int[] cells, int numMoves){
+		learnFrom(3, 3, 3, cells, numMoves);
+	}
+
+	/**
+	* <p> Method:  learnFrom
+	* <p> Description:  like learnFrom above, for a game played on an
+	* 		m,n,k board (see the TicTacToe constructor)
+	* @param rows - the number of rows
+	* @param cols - the number of columns
+	* @param winLength - the number in a row needed to win
+	* @param cells - the cells played, in order, each row*cols+col
+	* @param numMoves - the number of moves in the game
+	*/
+	public void learnFrom(int rows, int cols, int winLength, int[] cells, int numMoves){
+		TicTacToe t = new TicTacToe(rows, cols, winLength);
+		thisGame.clear();
+
+		for (int i=0; i<numMoves; i++){
+			t.move(cells[i] / t.getCols(), cells[i] % t.getCols());
+
+			//move i was made by player 1 if i is even
+			if ((i%2 == 0) == (PLAYER_NUM == 1)){
+				TicTacToe result = key(spareBoard(t));
+				thisGame.add(result);
+				if(i < 2) if(!firstMoves.contains(result)) firstMoves.add(new TicTacToe(result));
+				boards.incrementNumSeen(result);
 			}
 		}
+		endGame(t);
 	}
 
 	/**
@@ -159,30 +165,91 @@ public class SmartPlayer {
 
 		if (winner == PLAYER_NUM){
 			for (TicTacToe aBoard : thisGame){
-				boards.get(aBoard).incrementNumWins();
-				if (debug) {System.out.println("wins"+boards.get(aBoard).getNumWins());}
+				boards.incrementNumWins(aBoard);
+				if (debug) {System.out.println("wins"+boards.getNumWins(aBoard));}
 			}
 		}
 		else if(winner == 0){
 			for (TicTacToe aBoard : thisGame){
-				boards.get(aBoard).incrementNumDraws();
-				if (debug) {System.out.println("draws"+boards.get(aBoard).getNumDraws());}
+				boards.incrementNumDraws(aBoard);
+				if (debug) {System.out.println("draws"+boards.getNumDraws(aBoard));}
 			}
 		}
 		else{
 			for (TicTacToe aBoard : thisGame){
-				boards.get(aBoard).incrementNumLosses();
-				if (debug) {System.out.println("losses"+boards.get(aBoard).getNumLosses());}
+				boards.incrementNumLosses(aBoard);
+				if (debug) {System.out.println("losses"+boards.getNumLosses(aBoard));}
 			}
 		}
 
 		for (TicTacToe aBoard : thisGame){
-			if (debug) {System.out.println("wins,losses,draws,numplayed:"+boards.get(aBoard).getNumWins()+","+boards.get(aBoard).getNumLosses()+","+boards.get(aBoard).getNumDraws()+","+boards.get(aBoard).getNumSeen());}
+			if (debug) {System.out.println("wins,losses,draws,numplayed:"+boards.getNumWins(aBoard)+","+boards.getNumLosses(aBoard)+","+boards.getNumDraws(aBoard)+","+boards.getNumSeen(aBoard));}
 		}
 		
-		thisGame = new ArrayList<TicTacToe>();
+		thisGame.clear();
 	}
 	
+	/**
+	* <p> Method:  useSymmetry
+	* <p> Description:  turns symmetry canonicalization on or off. When on,
+	* 		every board is stored under its canonical rotation/reflection
+	* 		(see TicTacToe.canonical), so up to 8 equivalent boards are
+	* 		learned as one. Should be set before the first game.
+	* @param on - true to share statistics between symmetric boards
+	*/
+	public void useSymmetry(boolean on){
+		useSymmetry = on;
+	}
+
+	/**
+	* <p> Method:  setSeed
+	* <p> Description:  seeds the generator used to break ties,
+	* 		so that a series of games can be repeated
+	* @param seed - the seed for the tie breaking generator
+	*/
+	public void setSeed(long seed){
+		generator.setSeed(seed);
+	}
+
+	/**
+	* <p> Method:  merge
+	* <p> Description:  adds everything the given player has learned
+	* 		to this player's table, e.g. after training players in parallel.
+	* 		If both players share one table, only the first moves are merged.
+	* @param other - the player whose statistics to add
+	*/
+	public void merge(SmartPlayer other){
+		if (other.boards != boards)
+			other.boards.forEach((t, seen, wins, draws, losses) -> boards.addStats(t, seen, wins, draws, losses));
+		for (TicTacToe aBoard : other.firstMoves)
+			if(!firstMoves.contains(aBoard)) firstMoves.add(aBoard);
+	}
+
+	/**
+	* <p> Method:  spareBoard
+	* <p> Description:  copies the given board into the spare board for
+	* 		the next entry of thisGame, making one only the first time
+	* @param t - the board to copy
+	* @return a copy of t that is only kept until the next game
+	*/
+	private TicTacToe spareBoard(TicTacToe t){
+		if (spareBoards.size() <= thisGame.size()) spareBoards.add(new TicTacToe());
+		TicTacToe spare = spareBoards.get(thisGame.size());
+		spare.set(t);
+		return spare;
+	}
+
+	/**
+	* <p> Method:  key
+	* <p> Description:  gives the board under which the given board's
+	* 		statistics are stored
+	* @param t - a board
+	* @return the canonical board if using symmetry, otherwise t itself
+	*/
+	private TicTacToe key(TicTacToe t){
+		return useSymmetry ? t.canonical() : t;
+	}
+
 	/**
 	* <p> Method:  newGame
 	* <p> Description:  tells the player that a new game has started
@@ -201,8 +268,7 @@ public class SmartPlayer {
 	* @return numSeen - the number of times this board has been seen  
 	*/
 	public int numberOfTimesSeen(TicTacToe t){
-		Stats thisStat = boards.get(t);
-		int numSeen = thisStat.getNumSeen();
+		int numSeen = boards.getNumSeen(key(t));
 		return numSeen;
 	}
 	
@@ -261,6 +327,14 @@ public class SmartPlayer {
 		boards.printHashTable();
 	}
 
+	/**
+	* <p> Method:  printMetrics
+	* <p> Description:  prints measurements of the player's table, if it keeps any
+	*/
+	public void printMetrics(){
+		boards.printMetrics();
+	}
+
 	/**
 	* <p> Method:  printThisGame
 	* <p> Description:  prints the series of boards played in this game for debugging purposes
@@ -281,7 +355,7 @@ public class SmartPlayer {
 	*/
 	public void printFirstMoves(){
 		for (TicTacToe aBoard : firstMoves)
-			System.out.println(aBoard+"\n"+boards.get(aBoard).getNumWins()+" "+boards.get(aBoard).getNumSeen());
+			System.out.println(aBoard+"\n"+boards.getNumWins(aBoard)+" "+boards.getNumSeen(aBoard));
 	}
 	
 	/**
@@ -293,7 +367,7 @@ public class SmartPlayer {
 	public TicTacToe favFirstMove(){
 		TicTacToe favorite = firstMoves.get(0);
 		for(TicTacToe aBoard : firstMoves){
-			if (boards.get(aBoard).getNumSeen()>boards.get(favorite).getNumSeen())
+			if (boards.getNumSeen(aBoard)>boards.getNumSeen(favorite))
 				favorite = aBoard;
 		}
 		return favorite;
@@ -310,10 +384,10 @@ public class SmartPlayer {
 	public int numFavWon(){
 		TicTacToe favorite = firstMoves.get(0);
 		for(TicTacToe aBoard : firstMoves){
-			if (boards.get(aBoard).getNumSeen()>boards.get(favorite).getNumSeen())
+			if (boards.getNumSeen(aBoard)>boards.getNumSeen(favorite))
 				favorite = aBoard;
 		}
-		return boards.get(favorite).getNumWins();
+		return boards.getNumWins(favorite);
 	}
 	
 	/**
@@ -326,10 +400,10 @@ public class SmartPlayer {
 	public int numFavPlayed(){
 		TicTacToe favorite = firstMoves.get(0);
 		for(TicTacToe aBoard : firstMoves){
-			if (boards.get(aBoard).getNumSeen()>boards.get(favorite).getNumSeen())
+			if (boards.getNumSeen(aBoard)>boards.getNumSeen(favorite))
 				favorite = aBoard;
 		}
-		return boards.get(favorite).getNumSeen();
+		return boards.getNumSeen(favorite);
 	}
 
 }
@@ -0,0 +1,205 @@
+package proj4;
+
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * @author Rachael Birky
+ * @version 04.23.14
+ * 
+ * <p> StateSpace.java
+ * <p> This class holds every board that can come up in a game of
+ * 		TicTacToe (5478 of them), each with its result and the cells
+ * 		that can still be played. It is generated once at build time
+ * 		(see main) and written as a resource, then read at startup.
+ * <p> The resource is an int magic number and an int count, then
+ * 		7 bytes per board in increasing key order: the base 3 key (int),
+ * 		the result (byte: -1 not over, 0 draw, 1 or 2 the winner) and the
+ * 		open cells as a 9 bit mask (short, bit i = cell i). A successor's
+ * 		key is the board's key plus the mover's number times 3^(8-cell).
+ */
+public class StateSpace {
+
+	public static final String RESOURCE = "states.dat";
+	private static final int MAGIC = 0x54545353;	//"TTSS"
+
+	private int[] keys;
+	private byte[] results;
+	private short[] moves;
+
+	private StateSpace(int[] someKeys, byte[] someResults, short[] someMoves){
+		keys = someKeys;
+		results = someResults;
+		moves = someMoves;
+	}
+
+	/**
+	* <p> Method:  generate
+	* <p> Description:  enumerates every reachable board by playing
+	* 		out every game from the empty board
+	* @return the state space
+	*/
+	public static StateSpace generate(){
+		byte[] result = new byte[DenseBoardStore.NUM_BOARDS];
+		short[] open = new short[DenseBoardStore.NUM_BOARDS];
+		boolean[] reached = new boolean[DenseBoardStore.NUM_BOARDS];
+		int count = visit(new TicTacToe(), reached, result, open);
+
+		int[] keys = new int[count];
+		byte[] results = new byte[count];
+		short[] moves = new short[count];
+		int n = 0;
+		for (int key=0; key<reached.length; key++){
+			if (reached[key]){
+				keys[n] = key;
+				results[n] = result[key];
+				moves[n] = open[key];
+				n++;
+			}
+		}
+		return new StateSpace(keys, results, moves);
+	}
+
+	private static int visit(TicTacToe t, boolean[] reached, byte[] result, short[] open){
+		int key = t.hashCode();
+		if (reached[key]) return 0;
+		reached[key] = true;
+		result[key] = (byte) t.getWinner();
+
+		int count = 1;
+		if (t.isOver()) return count;
+		for (int cell=0; cell<9; cell++){
+			TicTacToe next = new TicTacToe(t);
+			if (next.move(cell/3, cell%3)){
+				open[key] |= 1 << cell;
+				count += visit(next, reached, result, open);
+			}
+		}
+		return count;
+	}
+
+	/**
+	* <p> Method:  read
+	* <p> Description:  reads a state space written by write
+	* @param in - the stream to read from
+	* @return the state space
+	* @throws IOException if the stream cannot be read or is not a state space
+	*/
+	public static StateSpace read(InputStream in) throws IOException{
+		DataInputStream data = new DataInputStream(in);
+		if (data.readInt() != MAGIC) throw new IOException("not a TicTacToe state space");
+		int count = data.readInt();
+
+		byte[] bytes = new byte[7*count];
+		data.readFully(bytes);
+
+		int[] keys = new int[count];
+		byte[] results = new byte[count];
+		short[] moves = new short[count];
+		for (int i=0, at=0; i<count; i++, at+=7){
+			keys[i] = ((bytes[at] & 0xff) << 24) | ((bytes[at+1] & 0xff) << 16)
+					| ((bytes[at+2] & 0xff) << 8) | (bytes[at+3] & 0xff);
+			results[i] = bytes[at+4];
+			moves[i] = (short) (((bytes[at+5] & 0xff) << 8) | (bytes[at+6] & 0xff));
+		}
+		return new StateSpace(keys, results, moves);
+	}
+
+	/**
+	* <p> Method:  load
+	* <p> Description:  reads the state space resource from the classpath,
+	* 		or generates it if the build did not include it
+	* @return the state space
+	*/
+	public static StateSpace load(){
+		InputStream in = StateSpace.class.getResourceAsStream(RESOURCE);
+		if (in == null) return generate();
+		try{
+			try{
+				return read(in);
+			}
+			finally{
+				in.close();
+			}
+		}
+		catch (IOException e){
+			throw new IllegalStateException("could not read "+RESOURCE, e);
+		}
+	}
+
+	/**
+	* <p> Method:  write
+	* @param out - the stream to write the state space to
+	* @throws IOException if the stream cannot be written
+	*/
+	public void write(OutputStream out) throws IOException{
+		DataOutputStream data = new DataOutputStream(new BufferedOutputStream(out));
+		data.writeInt(MAGIC);
+		data.writeInt(keys.length);
+		for (int i=0; i<keys.length; i++){
+			data.writeInt(keys[i]);
+			data.writeByte(results[i]);
+			data.writeShort(moves[i]);
+		}
+		data.flush();
+	}
+
+	/**
+	* <p> Method:  size
+	* @return the number of boards
+	*/
+	public int size(){
+		return keys.length;
+	}
+
+	/**
+	* <p> Method:  getKey
+	* @param i - the board's position, 0 to size()-1
+	* @return the base 3 key of the board
+	*/
+	public int getKey(int i){
+		return keys[i];
+	}
+
+	/**
+	* <p> Method:  getResult
+	* @param i - the board's position, 0 to size()-1
+	* @return -1 if the game is not over, 0 for a draw, else the winner
+	*/
+	public int getResult(int i){
+		return results[i];
+	}
+
+	/**
+	* <p> Method:  getMoves
+	* @param i - the board's position, 0 to size()-1
+	* @return the open cells as a mask, bit i for cell i (row*3+col)
+	*/
+	public int getMoves(int i){
+		return moves[i];
+	}
+
+	/**
+	* <p> Method:  main
+	* <p> Description:  generates the state space and writes it to a file,
+	* 		run by the build to create the resource
+	* @param args - the file to write
+	*/
+	public static void main(String[] args) throws IOException{
+		StateSpace space = generate();
+		OutputStream out = new FileOutputStream(args[0]);
+		try{
+			space.write(out);
+		}
+		finally{
+			out.close();
+		}
+		System.out.println("Wrote "+space.size()+" boards to "+args[0]);
+	}
+
+}
@@ -0,0 +1,155 @@
+package proj4;
+
+import java.util.Arrays;
+
+/**
+ * @author Rachael Birky
+ * @version 04.23.14
+ * 
+ * <p> StateSpaceTable.java
+ * <p> This class is a StatsTable that already holds every reachable
+ * 		board, read from the StateSpace resource when it is created.
+ * 		Its set of boards never changes, so nothing is ever inserted or
+ * 		resized during play; only the counters are updated.
+ * 		It also knows each board's result and open cells.
+ */
+public class StateSpaceTable implements StatsTable {
+
+	private static final int SEEN = 0, WINS = 1, DRAWS = 2, LOSSES = 3;
+
+	private final StateSpace space;
+	//position of each key in the state space, -1 for unreachable boards
+	private final int[] index = new int[DenseBoardStore.NUM_BOARDS];
+	private final int[] counts;
+
+	/**
+	 * <p> Constructor
+	 * <p> Description:  creates a table of every reachable board
+	 * 		from the state space resource
+	 */
+	public StateSpaceTable(){
+		this(StateSpace.load());
+	}
+
+	/**
+	 * <p> Constructor
+	 * <p> Description:  creates a table of the boards in the given state space
+	 * @param aSpace - the boards to hold
+	 */
+	public StateSpaceTable(StateSpace aSpace){
+		space = aSpace;
+		counts = new int[4*space.size()];
+		Arrays.fill(index, -1);
+		for (int i=0; i<space.size(); i++)
+			index[space.getKey(i)] = i;
+	}
+
+	/**
+	 * <p> Method:  getResult
+	 * @param t - a reachable board
+	 * @return -1 if the game is not over, 0 for a draw, else the winner
+	 */
+	public int getResult(TicTacToe t){
+		return space.getResult(position(t));
+	}
+
+	/**
+	 * <p> Method:  getMoves
+	 * @param t - a reachable board
+	 * @return the open cells as a mask, bit i for cell i (row*3+col)
+	 */
+	public int getMoves(TicTacToe t){
+		return space.getMoves(position(t));
+	}
+
+	public boolean containsKey(TicTacToe t){
+		return index[t.hashCode()] >= 0;
+	}
+
+	public void add(TicTacToe t){
+		//every reachable board is already here
+		position(t);
+	}
+
+	public int getPercentWin(TicTacToe t){
+		int at = 4*position(t);
+		if (counts[at+SEEN]==0) return 100;
+		else return (int) (((double)counts[at+WINS]/(counts[at+SEEN]))*100);
+	}
+
+	public int getNumSeen(TicTacToe t){
+		return counts[4*position(t)+SEEN];
+	}
+
+	public int getNumWins(TicTacToe t){
+		return counts[4*position(t)+WINS];
+	}
+
+	public int getNumDraws(TicTacToe t){
+		return counts[4*position(t)+DRAWS];
+	}
+
+	public int getNumLosses(TicTacToe t){
+		return counts[4*position(t)+LOSSES];
+	}
+
+	public void incrementNumSeen(TicTacToe t){
+		counts[4*position(t)+SEEN]++;
+	}
+
+	public void incrementNumWins(TicTacToe t){
+		counts[4*position(t)+WINS]++;
+	}
+
+	public void incrementNumDraws(TicTacToe t){
+		counts[4*position(t)+DRAWS]++;
+	}
+
+	public void incrementNumLosses(TicTacToe t){
+		counts[4*position(t)+LOSSES]++;
+	}
+
+	public void addStats(TicTacToe t, int seen, int wins, int draws, int losses){
+		int at = 4*position(t);
+		counts[at+SEEN] += seen;
+		counts[at+WINS] += wins;
+		counts[at+DRAWS] += draws;
+		counts[at+LOSSES] += losses;
+	}
+
+	public void forEach(Visitor visitor){
+		for (int i=0; i<space.size(); i++)
+			visitor.visit(TicTacToe.fromKey(space.getKey(i)), counts[4*i+SEEN], counts[4*i+WINS],
+					counts[4*i+DRAWS], counts[4*i+LOSSES]);
+	}
+
+	public int numSlots(){
+		return space.size();
+	}
+
+	public int numEntries(){
+		return space.size();
+	}
+
+	public int numCollisions(){
+		return 0;
+	}
+
+	public void printHashTable(){
+		for (int i=0; i<space.size(); i++)
+			System.out.println(space.getKey(i)+":"+counts[4*i+WINS]+"/"+counts[4*i+DRAWS]+"/"+counts[4*i+LOSSES]+" of "+counts[4*i+SEEN]);
+	}
+
+	/**
+	 * <p> Method:  position
+	 * @param t - a board
+	 * @return the board's position in the state space
+	 * @throws IllegalArgumentException if the board cannot be reached in a game
+	 */
+	private int position(TicTacToe t){
+		int i = index[t.hashCode()];
+		if (i < 0) throw new IllegalArgumentException("not a reachable board:\n"+t);
+		return i;
+	}
+
+}
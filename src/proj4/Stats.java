@@ -16,9 +16,6 @@ public class Stats {
 	private int numDraws=0;
 	private int numLosses=0;
 
-	private TicTacToe[] successors = new TicTacToe[9];
-	private int numSuccessors;
-
 	/**
 	* <p> Constructor
 	* <p> Description:  creates a new statistics object
@@ -34,8 +31,9 @@ public class Stats {
 	* 		percent of wins compared to number of times seen
 	*/
 	public int getPercentWin(){
-		if (numSeen==0) return 100;
-		else return (int) (((double)numWins/(numSeen))*100);
+		int seen = getNumSeen();
+		if (seen==0) return 100;
+		else return (int) (((double)getNumWins()/(seen))*100);
 	}
 	
 	/**
@@ -124,6 +122,20 @@ public class Stats {
 		this.numLosses++;
 	}
 
+	/**
+	* <p> Method:  add
+	* <p> Description:  adds the given counts to this board's statistics,
+	* 			used when merging statistics learned separately
+	* 
+	* @param seen, wins, draws, losses - the counts to add
+	*/
+	public void add(int seen, int wins, int draws, int losses){
+		this.numSeen += seen;
+		this.numWins += wins;
+		this.numDraws += draws;
+		this.numLosses += losses;
+	}
+
 	public String toString(){
 		String toStr = "Num wins:"+this.getNumWins()+"\nNum draws: "+this.getNumDraws()+"\nNum Losses: "+this.getNumLosses()+" times and has a "+this.getPercentWin()+"% rate";
 		return toStr;
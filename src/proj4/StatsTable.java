@@ -0,0 +1,169 @@
+package proj4;
+
+/**
+ * @author Rachael Birky
+ * @version 04.23.14
+ * 
+ * <p> StatsTable.java
+ * <p> This interface represents the table a SmartPlayer uses to
+ * 		remember the statistics of every board it has seen.
+ * 		Implementations may store the statistics however they like,
+ * 		as long as each board is identified by its TicTacToe key.
+ * 		A table that keeps the boards themselves must keep copies,
+ * 		since callers may change a board after passing it.
+ */
+public interface StatsTable {
+
+	/**
+	 * <p> Method:  containsKey
+	 * <p> Description:  determines whether the given board is
+	 * 			already in the table
+	 * @param t - the board for which to search
+	 * @return true if the board is already in the table, false otherwise
+	 */
+	public boolean containsKey(TicTacToe t);
+
+	/**
+	 * <p> Method:  add
+	 * <p> Description:  adds the given board with empty statistics,
+	 * 			if it is not already in the table
+	 * @param t - the board to add
+	 */
+	public void add(TicTacToe t);
+
+	/**
+	 * <p> Method:  getPercentWin
+	 * <p> Description:  returns the % of times the board was in a winning game
+	 * @param t - the board to access
+	 * @return 100 if an unexplored board, otherwise
+	 * 		percent of wins compared to number of times seen
+	 */
+	public int getPercentWin(TicTacToe t);
+
+	/**
+	 * <p> Method:  addAndGetPercentWin
+	 * <p> Description:  adds the given board with empty statistics if it
+	 * 			is not already in the table, then returns its % of wins.
+	 * 			Tables that can do both in one lookup should override this.
+	 * @param t - the board to add and access
+	 * @return the board's percent of wins, as from getPercentWin
+	 */
+	public default int addAndGetPercentWin(TicTacToe t){
+		add(t);
+		return getPercentWin(t);
+	}
+
+	/**
+	 * <p> Method:  getNumSeen
+	 * @param t - the board to access
+	 * @return number of times the board was seen, 0 if not in the table
+	 */
+	public int getNumSeen(TicTacToe t);
+
+	/**
+	 * <p> Method:  getNumWins
+	 * @param t - the board to access
+	 * @return number of times the board was in a winning game
+	 */
+	public int getNumWins(TicTacToe t);
+
+	/**
+	 * <p> Method:  getNumDraws
+	 * @param t - the board to access
+	 * @return number of times the board was in a game that ended in a draw
+	 */
+	public int getNumDraws(TicTacToe t);
+
+	/**
+	 * <p> Method:  getNumLosses
+	 * @param t - the board to access
+	 * @return number of times the board was in a losing game
+	 */
+	public int getNumLosses(TicTacToe t);
+
+	/**
+	 * <p> Method:  incrementNumSeen
+	 * <p> Description:  adds one to the number of times the board was seen,
+	 * 			adding the board first if need be
+	 * @param t - the board to update
+	 */
+	public void incrementNumSeen(TicTacToe t);
+
+	/**
+	 * <p> Method:  incrementNumWins
+	 * <p> Description:  adds one to the number of times the board
+	 * 			was in a winning game
+	 * @param t - the board to update
+	 */
+	public void incrementNumWins(TicTacToe t);
+
+	/**
+	 * <p> Method:  incrementNumDraws
+	 * <p> Description:  adds one to the number of times the board
+	 * 			was in a game that ended in a draw
+	 * @param t - the board to update
+	 */
+	public void incrementNumDraws(TicTacToe t);
+
+	/**
+	 * <p> Method:  incrementNumLosses
+	 * <p> Description:  adds one to the number of times the board
+	 * 			was in a losing game
+	 * @param t - the board to update
+	 */
+	public void incrementNumLosses(TicTacToe t);
+
+	/**
+	 * <p> Method:  addStats
+	 * <p> Description:  adds the given counts to the board's statistics,
+	 * 			adding the board first if need be. Used to merge tables.
+	 * @param t - the board to update
+	 * @param seen, wins, draws, losses - the counts to add
+	 */
+	public void addStats(TicTacToe t, int seen, int wins, int draws, int losses);
+
+	/**
+	 * <p> Method:  forEach
+	 * <p> Description:  passes every board in the table and its counts
+	 * 			to the given visitor
+	 * @param visitor - the visitor to call once per entry
+	 */
+	public void forEach(Visitor visitor);
+
+	/**
+	 * @return the number of slots in the table
+	 */
+	public int numSlots();
+
+	/**
+	 * @return the number of entries in the table
+	 */
+	public int numEntries();
+
+	/**
+	 * @return the number of collisions in the table
+	 */
+	public int numCollisions();
+
+	/**
+	 * <p> Method: printHashTable  
+	 * <p> Description:  prints the table to the console for debugging purposes
+	 */
+	public void printHashTable();
+
+	/**
+	 * <p> Method: printMetrics  
+	 * <p> Description:  prints measurements of the table's performance,
+	 * 			if it keeps any; by default prints nothing
+	 */
+	public default void printMetrics(){
+	}
+
+	/**
+	 * <p> This interface receives the entries of a StatsTable, one at a time
+	 */
+	public interface Visitor {
+		public void visit(TicTacToe t, int numSeen, int numWins, int numDraws, int numLosses);
+	}
+
+}
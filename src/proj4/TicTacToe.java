@@ -1,5 +1,7 @@
 package proj4;
 
+import java.util.Arrays;
+
 /**
  * @author Rachael Birky
  * @version 04.23.14 
@@ -8,6 +10,8 @@ package proj4;
  * <p> This class represents a game of TicTacToe. 
  * 		The first player (X) is player 1, the second player (O) is player 2. 
  * 		Moves are indexed starting at zero.
+ * <p> The board is 3x3 with three in a row to win unless another
+ * 		size is given (an m,n,k game, such as 4x4, or 5x5 with four in a row).
  */
 public class TicTacToe {
 
@@ -18,18 +22,92 @@ public class TicTacToe {
 	private final String PLAYER_1_MARK = "X";
 	private final String PLAYER_2_MARK = "O";
 
-	private int[][] board = new int[3][3];
+	//the size of the board, and how many in a row win
+	private int rows = 3;
+	private int cols = 3;
+	private int winLength = 3;
+	private int cells = 9;
 	public int length = 3;
 
+	//bit i of x (o) is set when X (O) has played cell i = row*cols+col;
+	//cells past the 64th continue in xRest (oRest), null on smaller boards
+	private long x = 0;
+	private long o = 0;
+	private long[] xRest;
+	private long[] oRest;
+
+	//boards of up to EXACT_CELLS cells are keyed by the board read as a
+	//base 3 number, kept up to date by move(); larger boards are keyed
+	//by a 64 bit Zobrist hash of their marks
+	private long key = 0;
+	private static final int EXACT_CELLS = 39;
+	private static final long[] POW3 = new long[EXACT_CELLS+1];
+	static {
+		POW3[0] = 1;
+		for (int i=1; i<POW3.length; i++) POW3[i] = 3*POW3[i-1];
+	}
+
+	//the classic 3x3 board checks these 8 masks instead of walking lines
+	private static final int CELLS = 9;
+	private static final int[] LINES = {
+		0007, 0070, 0700,	//rows
+		0111, 0222, 0444,	//columns
+		0421, 0124			//diagonals
+	};
+	//SYMMETRIES[s][i] is the cell that lands on cell i under rotation/reflection s
+	private static final int[][] SYMMETRIES = new int[8][CELLS];
+	static {
+		for (int i=0; i<CELLS; i++){
+			int r = i/3, c = i%3;
+			SYMMETRIES[0][i] = 3*r + c;				//identity
+			SYMMETRIES[1][i] = 3*(2-c) + r;			//rotate 90
+			SYMMETRIES[2][i] = 3*(2-r) + (2-c);		//rotate 180
+			SYMMETRIES[3][i] = 3*c + (2-r);			//rotate 270
+			SYMMETRIES[4][i] = 3*r + (2-c);			//mirror left-right
+			SYMMETRIES[5][i] = 3*(2-r) + c;			//mirror top-bottom
+			SYMMETRIES[6][i] = 3*c + r;				//main diagonal
+			SYMMETRIES[7][i] = 3*(2-c) + (2-r);		//anti diagonal
+		}
+	}
+
+	//other boards walk the lines through the last move: across, down, both diagonals
+	private static final int[][] DIRECTIONS = {{0, 1}, {1, 0}, {1, 1}, {1, -1}};
+
 	private int winner = 0;
 	private int turnNum = 1;
 	private boolean isOver = false;
+	//the cell of the last move, -1 if unknown (an empty or rebuilt board)
+	private int lastCell = -1;
 
+	/**
+	* <p> Constructor
+	* <p> Description:  creates an empty classic 3x3 board, three in a row to win
+	*/
 	public TicTacToe(){
-		for (int i=0; i<board.length; i++)
-			for (int j=0; j<board.length; j++){
-				board[i][j] = 0;
-			}
+	}
+
+	/**
+	* <p> Constructor
+	* <p> Description:  creates an empty m,n,k board: rows x cols cells,
+	* 		where the first player to get winLength in a row
+	* 		(across, down or diagonally) wins, e.g. 15,15,5 for gomoku
+	* @param aRows - the number of rows
+	* @param aCols - the number of columns
+	* @param aWinLength - the number in a row needed to win
+	*/
+	public TicTacToe(int aRows, int aCols, int aWinLength){
+		if (aRows < 1 || aCols < 1 || aWinLength < 1 || aWinLength > Math.max(aRows, aCols))
+			throw new IllegalArgumentException("no "+aRows+","+aCols+","+aWinLength+" game");
+
+		rows = aRows;
+		cols = aCols;
+		winLength = aWinLength;
+		cells = rows*cols;
+		length = rows;
+		if (cells > 64){
+			xRest = new long[(cells-1)/64];
+			oRest = new long[(cells-1)/64];
+		}
 	}
 
 	/**
@@ -41,7 +119,11 @@ public class TicTacToe {
 	 * @return true if the move was successful
 	 */
 	public boolean move(int row, int col){
-		if (this.isOver() || board[row][col]!=0)
+		if (row < 0 || row >= rows || col < 0 || col >= cols)
+			throw new IndexOutOfBoundsException("no cell ("+row+", "+col+")");
+		int index = row*cols + col;
+
+		if (this.isOver() || playerAt(index)!=DRAW)
 			//cannot move if the game if over or the spot is taken
 			return false;
 
@@ -53,12 +135,23 @@ public class TicTacToe {
 		else
 			player = PLAYER_1;
 
-		board[row][col] = player;
+		if (index < 64){
+			if (player==PLAYER_1) x |= 1L << index;
+			else o |= 1L << index;
+		}
+		else{
+			long[] rest = (player==PLAYER_1) ? xRest : oRest;
+			rest[(index>>>6)-1] |= 1L << index;
+		}
+
+		if (cells <= EXACT_CELLS) key += player * POW3[cells-1-index];
+		else key ^= zobrist(index, player);
 
 		//evaluate board each time for winner / game over
 		evalWinner(row, col, player);
 
 		turnNum++;
+		lastCell = index;
 
 		//move successful
 		return true;
@@ -67,50 +160,78 @@ public class TicTacToe {
 	/**
 	 * <p> Method: evalWinner  
 	 * <p> Description:  called ever time a move has been made,
-	 * 			evaluated whether the player that last played has won
+	 * 			evaluated whether the player that last played has won.
+	 * 			Only the lines through the last move are checked.
 	 * @param row - row last played
 	 * @param col - column last played
 	 * @param player - player that last played on the board
 	 * 
 	 */
 	private void evalWinner(int row, int col, int player){
-
-		boolean onDiagonal = ((row==col) || (row==col+2) || (col==row+2));
-
-		boolean winHorizontal = true;
-		boolean winVertical = true;
-		boolean winDiagonal1 = true;
-		boolean winDiagonal2 = true;		
-
-		//check horizontal
-		for (int i=0; i<board.length; i++){
-			if (board[row][i] != player) winHorizontal = false;
-		}
-
-		//check vertical
-		for (int i=0; i<board.length; i++){
-			if (board[i][col] != player) winVertical = false;
+		if (isClassic()){
+			int marks = (int) ((player==PLAYER_1) ? x : o);
+			for (int i=0; i<LINES.length; i++){
+				if ((marks & LINES[i]) == LINES[i]){
+					winner = player;
+					isOver = true;
+					return;
+				}
+			}
+			return;
 		}
 
-		if(onDiagonal){
-			for (int i=0; i<board.length; i++){
-				//diagonal to right
-				if(board[i][i] != player) winDiagonal1 = false;
-				//diagonal to left
-				if(board[i][-1*i+(board.length-1)] != player) winDiagonal2 = false;
+		for (int[] d : DIRECTIONS){
+			int inARow = 1 + countFrom(row, col, d[0], d[1], player)
+					+ countFrom(row, col, -d[0], -d[1], player);
+			if (inARow >= winLength){
+				winner = player;
+				isOver = true;
+				return;
 			}
 		}
-		else{
-			//not on diagonal; be sure to set diagonal win to false!
-			winDiagonal1 = false;
-			winDiagonal2 = false;
-		}
+	}
 
-		if (winHorizontal || winVertical || winDiagonal1 || winDiagonal2){
-			winner = player;
-			isOver = true;
+	/**
+	 * <p> Method:  countFrom
+	 * @param row, col - the starting cell
+	 * @param dRow, dCol - the direction to walk
+	 * @param player - the player whose marks to count
+	 * @return how many of the player's marks follow the starting cell
+	 * 			in the given direction without a gap
+	 */
+	private int countFrom(int row, int col, int dRow, int dCol, int player){
+		int count = 0;
+		int r = row+dRow, c = col+dCol;
+		while (r >= 0 && r < rows && c >= 0 && c < cols && playerAt(r*cols + c) == player && count < winLength){
+			count++;
+			r += dRow;
+			c += dCol;
 		}
+		return count;
+	}
 
+	/**
+	 * <p> Method:  isClassic
+	 * @return true for the 3x3, three in a row board
+	 */
+	private boolean isClassic(){
+		return cells == CELLS && rows == 3 && winLength == 3;
+	}
+
+	/**
+	 * <p> Method:  zobrist
+	 * <p> Description:  gives the random-looking 64 bit number that a mark
+	 * 			adds to the hash of a large board (a SplitMix64 scramble
+	 * 			of the cell and player, so no table is needed)
+	 * @param index - the cell played
+	 * @param player - the player who played it
+	 * @return the cell and player's Zobrist number
+	 */
+	private static long zobrist(int index, int player){
+		long z = (2L*index + player) * 0x9E3779B97F4A7C15L;
+		z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+		z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+		return z ^ (z >>> 31);
 	}
 
 	/**
@@ -124,7 +245,7 @@ public class TicTacToe {
 	 * 		   -1 - the game has not yet ended
 	 */
 	public int getWinner(){
-		if (isOver)	return winner;
+		if (isOver())	return winner;
 		else return -1;
 	}
 
@@ -152,7 +273,24 @@ public class TicTacToe {
 	 * 			0 - no one has yet played that spot
 	 */
 	public int playerAt(int row, int col){
-		return board[row][col];
+		return playerAt(row*cols + col);
+	}
+
+	/**
+	 * <p> Method: playerAt  
+	 * @param index - the cell, row*cols+col
+	 * @return the number of the player that played there, 0 if no one has
+	 */
+	private int playerAt(int index){
+		if (index < 64){
+			if (((x >>> index) & 1) != 0) return PLAYER_1;
+			if (((o >>> index) & 1) != 0) return PLAYER_2;
+		}
+		else{
+			if (((xRest[(index>>>6)-1] >>> index) & 1) != 0) return PLAYER_1;
+			if (((oRest[(index>>>6)-1] >>> index) & 1) != 0) return PLAYER_2;
+		}
+		return DRAW;
 	}
 
 	/**
@@ -162,30 +300,33 @@ public class TicTacToe {
 	 * @return true if there are no empty spaces
 	 */
 	public boolean isFull(){
-		int emptySpaces = 0;
-		for (int i=0; i<board.length; i++){
-			for (int j=0; j<board.length; j++){
-				if(board[i][j] == DRAW) emptySpaces++;
-			}
-		}
-		return (emptySpaces==0);
+		return numEmpty() == 0;
 	}
 
-	/* (non-Javadoc)
-	 * @see java.lang.Object#hashCode()
+	/**
+	 * <p> Method:  hashCode
+	 * <p> Description:  returns the board read as a base 3 number,
+	 * 			where empty = 0, X = 1 and O = 2. This is unique for
+	 * 			boards of up to 19 cells (including every 3x3 and 4x4 board);
+	 * 			larger boards fold their 64 bit key into an int.
+	 * 
+	 * @return the key of this board
 	 */
 	public int hashCode(){
-		String hashStr = "";
-
-		for (int i=0; i<board.length; i++){
-			for (int j=0; j<board.length; j++){
-				hashStr += board[i][j];
-			}
-		}
-
-		int hashInt = Integer.parseInt(hashStr, 3);
+		if (cells <= 19) return (int) key;
+		else return (int) (key ^ (key >>> 32));
+	}
 
-		return hashInt;
+	/**
+	 * <p> Method:  getLongKey
+	 * <p> Description:  returns the board read as a base 3 number for
+	 * 			boards of up to 39 cells, which is unique, or a 64 bit
+	 * 			Zobrist hash of the marks for larger boards
+	 * 
+	 * @return the 64 bit key of this board
+	 */
+	public long getLongKey(){
+		return key;
 	}
 
 	/**
@@ -197,8 +338,8 @@ public class TicTacToe {
 	public void printBoard(){
 		String boardStr = "";
 
-		for (int i=0; i<board.length; i++){
-			for (int j=0; j<board.length; j++){
+		for (int i=0; i<rows; i++){
+			for (int j=0; j<cols; j++){
 				switch(playerAt(i, j)){
 				case DRAW:	boardStr+="-"; break;
 				case PLAYER_1: boardStr+=PLAYER_1_MARK; break;
@@ -213,20 +354,25 @@ public class TicTacToe {
 	/**
 	 * <p> Method:  equals
 	 * <p> Description:  compares the given TicTacToe board with the current board
-	 * 						using their unique hashcode values
+	 * 						using their unique keys, or their marks if
+	 * 						they are too large to have unique keys
 	 * @param aBoard - the board to which this one is being compared
 	 * @return true or false; whether or not they are the same
 	 */
 	public boolean equals(Object aBoard){
-		TicTacToe aBoardNew = (TicTacToe) aBoard;
-		return this.hashCode() ==  aBoardNew.hashCode();
+		if (!(aBoard instanceof TicTacToe)) return false;
+		TicTacToe t = (TicTacToe) aBoard;
+		if (this.key != t.key || this.rows != t.rows || this.cols != t.cols || this.winLength != t.winLength)
+			return false;
+		return (cells <= EXACT_CELLS)
+				|| (x == t.x && o == t.o && Arrays.equals(xRest, t.xRest) && Arrays.equals(oRest, t.oRest));
 	}
 
 	public String toString(){
 		String returnStr = "";
 
-		for (int i=0; i<board.length; i++){
-			for (int j=0; j<board.length; j++){
+		for (int i=0; i<rows; i++){
+			for (int j=0; j<cols; j++){
 				switch(playerAt(i, j)){
 				case DRAW:	returnStr+="-"; break;
 				case PLAYER_1: returnStr+=PLAYER_1_MARK; break;
@@ -245,11 +391,56 @@ public class TicTacToe {
 	* @param t - the board to copy
 	*/
 	public TicTacToe(TicTacToe t){
-		for (int i=0; i<t.length; i++)
-			for(int j=0; j<t.length; j++)
-				this.board[i][j] = t.playerAt(i,j);
-
+		this.rows = t.rows;
+		this.cols = t.cols;
+		this.winLength = t.winLength;
+		this.cells = t.cells;
+		this.length = t.length;
+		this.x = t.x;
+		this.o = t.o;
+		if (t.xRest != null){
+			this.xRest = t.xRest.clone();
+			this.oRest = t.oRest.clone();
+		}
+		this.key = t.key;
+		this.winner = t.winner;
+		this.isOver = t.isOver;
 		this.turnNum = t.getTurnNum();
+		this.lastCell = t.lastCell;
+	}
+
+	/**
+	* <p> Method:  set
+	* <p> Description:  makes this board a copy of the given board,
+	* 		like the copy constructor but reusing this board's arrays,
+	* 		so that a scratch board can be reused without allocating
+	* @param t - the board to copy
+	*/
+	public void set(TicTacToe t){
+		this.rows = t.rows;
+		this.cols = t.cols;
+		this.winLength = t.winLength;
+		this.cells = t.cells;
+		this.length = t.length;
+		this.x = t.x;
+		this.o = t.o;
+		if (t.xRest == null){
+			this.xRest = null;
+			this.oRest = null;
+		}
+		else if (this.xRest == null || this.xRest.length != t.xRest.length){
+			this.xRest = t.xRest.clone();
+			this.oRest = t.oRest.clone();
+		}
+		else{
+			System.arraycopy(t.xRest, 0, this.xRest, 0, t.xRest.length);
+			System.arraycopy(t.oRest, 0, this.oRest, 0, t.oRest.length);
+		}
+		this.key = t.key;
+		this.winner = t.winner;
+		this.isOver = t.isOver;
+		this.turnNum = t.turnNum;
+		this.lastCell = t.lastCell;
 	}
 
 	/**
@@ -259,15 +450,44 @@ public class TicTacToe {
 	* @return emptySpaces - number of spaces where no player has moved
 	*/
 	public int numEmpty(){
-		int emptySpaces = 0;
-		for (int i=0; i<board.length; i++){
-			for (int j=0; j<board.length; j++){
-				if(board[i][j] == DRAW) emptySpaces++;
-			}
-		}
+		int emptySpaces = cells - (turnNum-1);
 		return emptySpaces;
 	}
 
+	/**
+	* <p> Method:  emptyCell
+	* <p> Description:  finds an empty cell by its position among the
+	* 		empty cells, counting row by row, using the bitboards
+	* @param n - the position, from 0 to numEmpty()-1
+	* @return the cell, row*cols+col
+	*/
+	public int emptyCell(int n){
+		if (n < 0 || n >= numEmpty())
+			throw new IndexOutOfBoundsException("no empty cell "+n);
+
+		long empty = emptyBits(x, o, 0);
+		int word = 0;
+		for (int count = Long.bitCount(empty); n >= count; count = Long.bitCount(empty)){
+			n -= count;
+			word++;
+			empty = emptyBits(xRest[word-1], oRest[word-1], 64*word);
+		}
+		//drop the n lowest empty cells
+		for (int i=0; i<n; i++) empty &= empty-1;
+		return 64*word + Long.numberOfTrailingZeros(empty);
+	}
+
+	/**
+	* <p> Method:  emptyBits
+	* @param xBits, oBits - one word of each player's bitboard
+	* @param base - the cell of the word's lowest bit
+	* @return the word's empty cells as bits, leaving out those past the last cell
+	*/
+	private long emptyBits(long xBits, long oBits, int base){
+		long empty = ~(xBits | oBits);
+		return (cells-base < 64) ? empty & ((1L << (cells-base))-1) : empty;
+	}
+
 	/**
 	* <p> Method:  getTurnNum
 	* <p> Description:  returns the turn number of the current board
@@ -278,4 +498,241 @@ public class TicTacToe {
 		return this.turnNum;
 	}
 
+	/**
+	* <p> Method:  getLastCell
+	* <p> Description:  returns the cell of the last move made on this board
+	* 		(or on the board it was copied from), counting row by row from 0
+	* 
+	* @return lastCell - the last cell played, -1 if no move has been made
+	* 		or the board was rebuilt from a key
+	*/
+	public int getLastCell(){
+		return this.lastCell;
+	}
+
+	/**
+	* @return the number of rows on the board
+	*/
+	public int getRows(){
+		return rows;
+	}
+
+	/**
+	* @return the number of columns on the board
+	*/
+	public int getCols(){
+		return cols;
+	}
+
+	/**
+	* @return the number in a row needed to win
+	*/
+	public int getWinLength(){
+		return winLength;
+	}
+
+	/**
+	* @return the number of cells on the board
+	*/
+	public int getNumCells(){
+		return cells;
+	}
+
+	/**
+	* <p> Method:  fromKey
+	* <p> Description:  rebuilds the 3x3 board with the given base 3 key,
+	* 		the inverse of hashCode. The turn number and winner are
+	* 		worked out from the marks on the board.
+	* @param aKey - a key returned by hashCode of a 3x3 board
+	* @return a board with that key
+	*/
+	public static TicTacToe fromKey(int aKey){
+		TicTacToe t = new TicTacToe();
+		int rest = aKey;
+		for (int i=CELLS-1; i>=0; i--){
+			int player = rest % 3;
+			rest /= 3;
+			if (player == 1) t.x |= 1L << i;
+			else if (player == 2) t.o |= 1L << i;
+		}
+		t.key = aKey;
+		t.turnNum = 1 + Long.bitCount(t.x | t.o);
+		t.evalWinner(0, 0, t.PLAYER_1);
+		if (t.winner == 0) t.evalWinner(0, 0, t.PLAYER_2);
+		return t;
+	}
+
+	/**
+	* <p> Method:  fromKey
+	* <p> Description:  rebuilds the board of the given size with the given
+	* 		base 3 key, the inverse of getLongKey. The turn number and winner
+	* 		are worked out from the marks on the board.
+	* @param aRows, aCols, aWinLength - the size of the game, as in the constructor
+	* @param aKey - a key returned by getLongKey of a board that size
+	* @return a board with that key
+	* @throws IllegalArgumentException if the board has more than EXACT_CELLS
+	* 		cells, whose keys are hashes that cannot be decoded
+	*/
+	public static TicTacToe fromKey(int aRows, int aCols, int aWinLength, long aKey){
+		TicTacToe t = new TicTacToe(aRows, aCols, aWinLength);
+		if (t.cells > EXACT_CELLS)
+			throw new IllegalArgumentException("keys of boards over "+EXACT_CELLS+" cells cannot be decoded");
+
+		long rest = aKey;
+		for (int i=t.cells-1; i>=0; i--){
+			int player = (int) (rest % 3);
+			rest /= 3;
+			if (player == 1) t.x |= 1L << i;
+			else if (player == 2) t.o |= 1L << i;
+		}
+		t.key = aKey;
+		t.turnNum = 1 + Long.bitCount(t.x | t.o);
+		for (int i=0; i<t.cells && t.winner == 0; i++){
+			int player = t.playerAt(i);
+			if (player != 0) t.evalWinner(i / t.cols, i % t.cols, player);
+		}
+		return t;
+	}
+
+	/**
+	* <p> Method:  getNumKeyWords
+	* @return the number of longs written by getKeyWords: 1 for boards of
+	* 		up to EXACT_CELLS cells, otherwise one bitboard per player
+	*/
+	public int getNumKeyWords(){
+		return (cells <= EXACT_CELLS) ? 1 : 2*((cells+63)/64);
+	}
+
+	/**
+	* <p> Method:  getKeyWords
+	* <p> Description:  writes a key that tells this board apart from every
+	* 		other board of its size: the base 3 key for boards of up to
+	* 		EXACT_CELLS cells, whose keys are exact, and otherwise X's then
+	* 		O's bitboards, since the Zobrist hash of a large board may collide
+	* @param into - where to write the key, at least getNumKeyWords() long
+	*/
+	public void getKeyWords(long[] into){
+		if (cells <= EXACT_CELLS){
+			into[0] = key;
+			return;
+		}
+		int words = (cells+63)/64;
+		into[0] = x;
+		into[words] = o;
+		for (int w=1; w<words; w++){
+			into[w] = xRest[w-1];
+			into[words+w] = oRest[w-1];
+		}
+	}
+
+	/**
+	* <p> Method:  fromKeyWords
+	* <p> Description:  rebuilds the board of the given size from the key
+	* 		written by getKeyWords, the inverse of getKeyWords
+	* @param aRows, aCols, aWinLength - the size of the game, as in the constructor
+	* @param someWords - a key written by getKeyWords of a board that size
+	* @return a board with that key
+	*/
+	public static TicTacToe fromKeyWords(int aRows, int aCols, int aWinLength, long[] someWords){
+		TicTacToe t = new TicTacToe(aRows, aCols, aWinLength);
+		if (t.cells <= EXACT_CELLS) return fromKey(aRows, aCols, aWinLength, someWords[0]);
+
+		int words = (t.cells+63)/64;
+		t.x = someWords[0];
+		t.o = someWords[words];
+		int marks = Long.bitCount(t.x | t.o);
+		for (int w=1; w<words; w++){
+			t.xRest[w-1] = someWords[w];
+			t.oRest[w-1] = someWords[words+w];
+			marks += Long.bitCount(t.xRest[w-1] | t.oRest[w-1]);
+		}
+		t.turnNum = 1 + marks;
+		for (int i=0; i<t.cells; i++){
+			int player = t.playerAt(i);
+			if (player != 0) t.key ^= zobrist(i, player);
+		}
+		for (int i=0; i<t.cells && t.winner == 0; i++){
+			int player = t.playerAt(i);
+			if (player != 0) t.evalWinner(i / t.cols, i % t.cols, player);
+		}
+		return t;
+	}
+
+	/**
+	* <p> Method:  canonical
+	* <p> Description:  returns the rotation or reflection of this board
+	* 		with the smallest key. Boards that are symmetric to each other
+	* 		share the same canonical board, so they can share one hash table entry.
+	* 		Only the classic 3x3 board is reduced; other boards are their own
+	* 		canonical board.
+	* 
+	* @return this board if it is already canonical, otherwise a transformed copy
+	*/
+	public TicTacToe canonical(){
+		if (!isClassic()) return this;
+		int best = symmetry();
+		if (best == 0) return this;
+
+		int[] from = SYMMETRIES[best];
+		TicTacToe t = new TicTacToe(this);
+		t.x = 0;
+		t.o = 0;
+		t.key = 0;
+		for (int i=0; i<CELLS; i++){
+			long xBit = (x >>> from[i]) & 1;
+			long oBit = (o >>> from[i]) & 1;
+			t.x |= xBit << i;
+			t.o |= oBit << i;
+			t.key += (xBit + 2*oBit) * POW3[CELLS-1-i];
+		}
+		return t;
+	}
+
+	/**
+	* <p> Method:  canonicalKey
+	* <p> Description:  returns the key of the canonical board without building it
+	* 
+	* @return the smallest key over the 8 rotations and reflections of this board
+	*/
+	public int canonicalKey(){
+		if (!isClassic()) return hashCode();
+		return transformedKey(symmetry());
+	}
+
+	/**
+	* <p> Method:  symmetry
+	* <p> Description:  finds which of the 8 rotations and reflections
+	* 		gives this board its smallest key
+	* 
+	* @return the index of the symmetry, 0 if the board is already canonical
+	*/
+	private int symmetry(){
+		int best = 0;
+		int bestKey = (int) key;
+		for (int s=1; s<SYMMETRIES.length; s++){
+			int k = transformedKey(s);
+			if (k < bestKey){
+				bestKey = k;
+				best = s;
+			}
+		}
+		return best;
+	}
+
+	/**
+	* <p> Method:  transformedKey
+	* @param s - the index of a rotation or reflection
+	* @return the key this board would have after applying it
+	*/
+	private int transformedKey(int s){
+		int[] from = SYMMETRIES[s];
+		int k = 0;
+		for (int i=0; i<CELLS; i++){
+			int xBit = (int) (x >>> from[i]) & 1;
+			int oBit = (int) (o >>> from[i]) & 1;
+			k += (xBit + 2*oBit) * (int) POW3[CELLS-1-i];
+		}
+		return k;
+	}
+
 }
@@ -0,0 +1,236 @@
+package proj4;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * @author Rachael Birky
+ * @version 04.23.14
+ * 
+ * <p> BatchSimulator.java
+ * <p> This class plays many games of 3x3 TicTacToe between two random
+ * 		players at once, in lockstep, using the Vector API
+ * 		(jdk.incubator.vector, so it needs --add-modules jdk.incubator.vector
+ * 		to compile and run). The games are kept as arrays of bitboards, one
+ * 		entry per game for each player's marks, its random generator and
+ * 		its winner, so that one vector instruction works on a lane of games.
+ * <p> Every game moves at each step, so the player to move and the number of
+ * 		empty cells are the same in every game still being played. A move is
+ * 		picked with a per-game xorshift generator and a table of the nth empty
+ * 		cell of each board, and all 8 lines are checked for every lane at once.
+ * 		The cells played are recorded, so the finished games can be passed
+ * 		to SmartPlayer.learnFrom.
+ */
+public class BatchSimulator {
+
+	private static final VectorSpecies<Integer> SPECIES = IntVector.SPECIES_PREFERRED;
+
+	private static final int CELLS = 9;
+	private static final int FULL = 0x1FF;
+	private static final int PLAYING = -1;
+	private static final int[] LINES = {0007, 0070, 0700, 0111, 0222, 0444, 0421, 0124};
+
+	//NTH_CELL[empty*CELLS + n] is the nth cell (lowest first) set in the 9 bit mask empty
+	private static final int[] NTH_CELL = new int[(FULL+1)*CELLS];
+	static {
+		for (int empty=0; empty<=FULL; empty++){
+			int n = 0;
+			for (int cell=0; cell<CELLS; cell++)
+				if ((empty & (1 << cell)) != 0) NTH_CELL[empty*CELLS + n++] = cell;
+		}
+	}
+
+	private final int size;
+	private final int[] x;
+	private final int[] o;
+	private final int[] winner;
+	private final int[] rng;
+	//moves[step*size + game] is the cell played at that step of that game
+	private final int[] moves;
+	private final int[] index;
+
+	/**
+	* <p> Constructor
+	* <p> Description:  creates a simulator for batches of about the given
+	* 		number of games, rounded up to a whole number of vectors
+	* @param aSize - the number of games per batch
+	* @param seed - the seed for the games' random generators
+	*/
+	public BatchSimulator(int aSize, long seed){
+		size = SPECIES.loopBound(aSize + SPECIES.length()-1);
+		x = new int[size];
+		o = new int[size];
+		winner = new int[size];
+		rng = new int[size];
+		moves = new int[CELLS*size];
+		index = new int[SPECIES.length()];
+
+		SplittableRandom seeds = new SplittableRandom(seed);
+		for (int g=0; g<size; g++){
+			//xorshift state must not be 0
+			do rng[g] = seeds.nextInt(); while (rng[g] == 0);
+		}
+	}
+
+	/**
+	* <p> Method:  playBatch
+	* <p> Description:  plays a whole batch of games from empty boards
+	*/
+	public void playBatch(){
+		Arrays.fill(x, 0);
+		Arrays.fill(o, 0);
+		Arrays.fill(winner, PLAYING);
+
+		for (int step=0; step<CELLS; step++){
+			boolean xToMove = (step%2 == 0);
+			int player = xToMove ? 1 : 2;
+			int numEmpty = CELLS-step;
+
+			for (int g=0; g<size; g+=SPECIES.length()){
+				IntVector vWinner = IntVector.fromArray(SPECIES, winner, g);
+				VectorMask<Integer> active = vWinner.compare(VectorOperators.EQ, PLAYING);
+				if (!active.anyTrue()) continue;
+
+				IntVector vx = IntVector.fromArray(SPECIES, x, g);
+				IntVector vo = IntVector.fromArray(SPECIES, o, g);
+
+				//xorshift32, then scale the top 16 bits to 0..numEmpty-1
+				IntVector r = IntVector.fromArray(SPECIES, rng, g);
+				r = r.lanewise(VectorOperators.XOR, r.lanewise(VectorOperators.LSHL, 13));
+				r = r.lanewise(VectorOperators.XOR, r.lanewise(VectorOperators.LSHR, 17));
+				r = r.lanewise(VectorOperators.XOR, r.lanewise(VectorOperators.LSHL, 5));
+				r.intoArray(rng, g);
+				IntVector n = r.lanewise(VectorOperators.LSHR, 16).mul(numEmpty).lanewise(VectorOperators.LSHR, 16);
+
+				//look up the nth empty cell of each board
+				IntVector empty = vx.or(vo).not().and(FULL);
+				empty.mul(CELLS).add(n).intoArray(index, 0);
+				IntVector cell = IntVector.fromArray(SPECIES, NTH_CELL, 0, index, 0);
+				IntVector bit = IntVector.broadcast(SPECIES, 1).lanewise(VectorOperators.LSHL, cell);
+
+				IntVector mine = (xToMove ? vx : vo).lanewise(VectorOperators.OR, bit, active);
+				mine.intoArray(xToMove ? x : o, g);
+				cell.intoArray(moves, step*size + g, active);
+
+				//check all 8 lines of the player who moved
+				VectorMask<Integer> won = SPECIES.maskAll(false);
+				for (int line : LINES)
+					won = won.or(mine.and(line).compare(VectorOperators.EQ, line));
+				won = won.and(active);
+
+				vWinner = vWinner.blend(player, won);
+				if (step == CELLS-1) vWinner = vWinner.blend(0, active.andNot(won));
+				vWinner.intoArray(winner, g);
+			}
+		}
+	}
+
+	/**
+	* <p> Method:  feed
+	* <p> Description:  passes every game of the last batch to the given
+	* 		player to learn from
+	* @param player - the smart player to teach
+	*/
+	public void feed(SmartPlayer player){
+		int[] cells = new int[CELLS];
+		for (int g=0; g<size; g++){
+			int numMoves = getNumMoves(g);
+			for (int step=0; step<numMoves; step++) cells[step] = moves[step*size + g];
+			player.learnFrom(cells, numMoves);
+		}
+	}
+
+	/**
+	* <p> Method:  getSize
+	* @return the number of games in a batch
+	*/
+	public int getSize(){
+		return size;
+	}
+
+	/**
+	* <p> Method:  getWinner
+	* @param game - a game of the last batch
+	* @return its winner's player number, 0 for a draw
+	*/
+	public int getWinner(int game){
+		return winner[game];
+	}
+
+	/**
+	* <p> Method:  getNumMoves
+	* @param game - a game of the last batch
+	* @return the number of moves it took
+	*/
+	public int getNumMoves(int game){
+		return Integer.bitCount(x[game] | o[game]);
+	}
+
+	/**
+	* <p> Method:  main
+	* <p> Description:  measures games per second on one thread for the
+	* 		batch simulator, with and without feeding a smart player, against
+	* 		the scalar TicTacToe/RandomAI loop and Project4's smart player loop
+	* @param args - [number of games (default 2000000)] [batch size (default 4096)] [seed]
+	*/
+	public static void main(String[] args){
+		int numGames = (args.length > 0) ? Integer.parseInt(args[0]) : 2000000;
+		int batchSize = (args.length > 1) ? Integer.parseInt(args[1]) : 4096;
+		long seed = (args.length > 2) ? Long.parseLong(args[2]) : System.nanoTime();
+
+		System.out.println(SPECIES.length()+" games per vector");
+
+		BatchSimulator batch = new BatchSimulator(batchSize, seed);
+		int numBatches = Math.max(1, numGames/batch.getSize());
+		long games = (long) numBatches*batch.getSize();
+
+		//the vector operations are only intrinsified once C2 compiles playBatch
+		for (int b=0; b<Math.max(1, numBatches/10); b++) batch.playBatch();
+
+		long start = System.nanoTime();
+		int[] results = new int[3];
+		for (int b=0; b<numBatches; b++){
+			batch.playBatch();
+			for (int g=0; g<batch.getSize(); g++) results[batch.getWinner(g)]++;
+		}
+		report("vector batch", games, start);
+		System.out.println("  X won "+results[1]+", O won "+results[2]+", drawn "+results[0]);
+
+		SmartPlayer learner = new SmartPlayer(1);
+		start = System.nanoTime();
+		for (int b=0; b<numBatches; b++){
+			batch.playBatch();
+			batch.feed(learner);
+		}
+		report("vector batch + SmartPlayer.learnFrom", games, start);
+
+		RandomAI player1 = new RandomAI(seed);
+		RandomAI player2 = new RandomAI(seed+1);
+		start = System.nanoTime();
+		for (long g=0; g<games; g++){
+			TicTacToe t = new TicTacToe();
+			while (!t.isOver()){
+				player1.move(t);
+				player2.move(t);
+			}
+		}
+		report("scalar TicTacToe/RandomAI", games, start);
+
+		SmartPlayer smart = new SmartPlayer(1);
+		smart.setSeed(seed);
+		start = System.nanoTime();
+		new Project4().playGames(new RandomAI(seed), smart, 1, (int) games);
+		report("scalar Project4 smart vs random", games, start);
+	}
+
+	private static void report(String what, long games, long start){
+		long millis = Math.max(1, (System.nanoTime()-start)/1000000);
+		System.out.println(what+": "+games+" games in "+millis+" ms ("+(games*1000/millis)+" games/sec)");
+	}
+
+}